@@ -1,6 +1,7 @@
 package org.ea;
 
 import org.ea.constant.Arguments;
+import org.ea.constant.Numbers;
 import org.ea.controller.PolyhedronController;
 import org.ea.exceptions.STLReaderException;
 import org.ea.model.Triangle;
@@ -10,6 +11,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import javafx.application.Application;
 import org.ea.view.STLViewerApplication;
@@ -43,15 +46,10 @@ public class Main extends STLViewerApplication {
      * @postcondition returns a sorted array of triangles or exits the program on error
      */
     public static Triangle[] doTask2(String fileName) {
-        try {
+        try (STLReader reader = new STLFileReaderSelector().selectReader(new File(fileName))) {
             return new PolyhedronController(
                     new PolyhedronFactory()
-                            .buildPolyhedron(
-                                    new TriangleFactory()
-                                            .buildTriangles(
-                                                    new STLFileReaderSelector()
-                                                            .selectReader(new File(fileName))
-                                                            .readTriangleData())))
+                            .buildPolyhedron(reader.readPrimitiveTriangleData()))
                     .getSortedSurfaces();
         } catch (STLReaderException | IOException e) {
             Logger.error(e.getMessage());
@@ -62,8 +60,11 @@ public class Main extends STLViewerApplication {
 
     /**
      * Executes task 3: Multithreaded processing of STL file data using producer-consumer pattern.
-     * Starts multiple threads for triangle reading, parsing, and polyhedron construction.
-     * Logs the final calculated area.
+     * The file gets its own {@link LoadPipeline}, so no queues are shared with other loads.
+     * Starts threads for triangle reading, one triangle building worker per core, and polyhedron construction.
+     * The stages are connected by bounded queues and exchange triangles in batches; the
+     * throughput and blocked time of each stage and the final calculated area are logged.
+     * An error of any stage reaches the last stage through the queues and is reported here.
      *
      * @param fileName path to the STL file
      *
@@ -71,20 +72,26 @@ public class Main extends STLViewerApplication {
      * @postcondition Threads are started and joined, and the resulting area is logged
      */
     private static void doTask3(String fileName) {
-        List<ManagedThread<?>> threads = new ArrayList<>(List.of(
-                new ManagedThread<>(new TriangleFactory(TriangleDataQueue.getInstance(), TriangleQueue.getInstance())),
-                new ManagedThread<>(new PolyhedronFactory(TriangleQueue.getInstance())),
-                new ManagedThread<>(new STLFileReaderSelector().selectReader(new File(fileName), TriangleDataQueue.getInstance()))
-        ));
-
-        threads.forEach(ManagedThread::start);
-        threads.forEach(ManagedThread::join);
+        try {
+            // Flächensumme hängt nicht von der Reihenfolge ab, daher ungeordnet
+            LoadPipeline pipeline = new LoadPipeline(new File(fileName), new STLFileReaderSelector(),
+                    Numbers.PIPELINE_QUEUE_CAPACITY, Runtime.getRuntime().availableProcessors(), false);
+            List<ManagedThread<?>> threads = new ArrayList<>();
+            CompletableFuture<Double> area = pipeline.start(stage -> {
+                ManagedThread<Runnable> thread = new ManagedThread<>(stage);
+                threads.add(thread);
+                thread.start();
+            });
+            threads.forEach(ManagedThread::join);
 
-        threads.stream()
-                .map(ManagedThread::getTarget)
-                .filter(t -> t instanceof PolyhedronFactory)
-                .map(t -> (PolyhedronFactory) t)
-                .findFirst()
-                .ifPresent(factory -> Logger.info(String.valueOf(factory.getThreadedArea())));
+            pipeline.logBlockedTimes();
+            Logger.info(String.valueOf(area.join()));
+        } catch (STLReaderException | IOException e) {
+            Logger.error(e.getMessage());
+            System.exit(Arguments.EXIT_ERROR);
+        } catch (CompletionException e) {
+            Logger.error(e.getCause().getMessage());
+            System.exit(Arguments.EXIT_ERROR);
+        }
     }
 }
@@ -15,12 +15,19 @@ public interface Messages {
     String AREA_POLYHEDRON = "Calculated Area of polyhedron: %.2";
     String FLOAT_COUNT_MESSAGE = "Read %d float(s)";
     String READ_TIME_MESSAGE = "Reading took %.2f ms";
+    String THROUGHPUT_MESSAGE = "Throughput was %.2f MB/s";
+    String STAGE_BLOCKED_MESSAGE = "%s was blocked %.2f ms";
+    String STAGE_THROUGHPUT_MESSAGE = "%s processed %d triangles (%.0f triangles/s)";
+    String GEOMETRY_KERNELS_MESSAGE = "Using %s geometry kernels";
+    String BENCHMARK_MESSAGE = "%s took %.2f ms per run";
     String SORTING_TIME_MESSAGE = "Sorting took %.2f ms";
     String BUILD_TIME_MESSAGE = "Building took %.2f ms";
     String STARTED_READING_STL_BYTE = "Started reading STL BYTE File...";
+    String STARTED_READING_STL_MAPPED = "Started reading STL BYTE File memory mapped...";
     String STARTED_READING_STL_ASCII = "Started reading STL ASCII File...";
     String BUILDING_POLYHEDRON_STARTED = "Building polyhedron started...";
     String BUILDING_POLYHEDRON_DONE = "Polyhedron was built";
+    String BODIES_FOUND_MESSAGE = "Found %d separate bodies in %.2f ms";
     String STARTED_SORTING_SURFACES = "Sorting of the surfaces started...";
     String DONE_SORTING_SURFACES = "Sorting of the surfaces done";
 }
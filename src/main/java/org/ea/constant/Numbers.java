@@ -8,6 +8,22 @@ package org.ea.constant;
 public interface Numbers {
     int HEADER_LENGTH = 80;
     int TRIANGLE_AMOUNT_LENGTH = 4;
+    int TRIANGLE_RECORD_LENGTH = 50;
+    int ATTRIBUTE_OFFSET = 48;
+    int FLOATS_PER_TRIANGLE = 12;
+    int SEQUENTIAL = 1;
+    int DECODE_CHUNK_TRIANGLES = 16_384;
+    int INITIAL_TRIANGLE_CAPACITY = 1024;
+    int ASCII_BUFFER_SIZE = 1 << 16;
+    int ASCII_SEARCH_WINDOW = 4096;
+    int ASCII_BYTES_PER_FACET = 250;
+    int PIPELINE_QUEUE_CAPACITY = 16;
+    int PIPELINE_BATCH_SIZE = 4096;
+    int RING_BUFFER_CAPACITY = 1 << 16;
+    int REDUCTION_CHUNK = 8192;
+    int BENCHMARK_WARMUP_RUNS = 20;
+    int BENCHMARK_RUNS = 10;
+    int LOGGED_ELEMENTS_AMOUNT = 5;
     int FILE_START = 0;
     int NEXT = 1;
     int NEXT_TWO = 2;
@@ -2,14 +2,15 @@ package org.ea.controller;
 
 import org.ea.constant.Messages;
 import org.ea.model.Polyhedron;
+import org.ea.constant.Numbers;
 import org.ea.model.Triangle;
+import org.ea.utiltities.AreaRanking;
 import org.ea.utiltities.Logger;
 import org.ea.utiltities.Timer;
 
-import java.util.Arrays;
-
 public class PolyhedronController {
     private final Polyhedron polyhedron;
+    private double[] areas;
 
     public PolyhedronController(Polyhedron polyhedron) {
         this.polyhedron = polyhedron;
@@ -25,18 +26,17 @@ public class PolyhedronController {
      *
      * @postcondition
      * - The returned array contains the same Triangle objects as the original array, but sorted in ascending order.
-     * - The original surfaces array remains unchanged (a defensive copy is used).
+     * - The original surfaces array remains unchanged (the order is computed on a primitive area column).
      * - The sorting duration is logged.
      * - The first five sorted elements are logged.
      *
      * @return A sorted array of Triangle objects.
      */
     public Triangle[] getSortedSurfaces() {
-        Triangle[] triangles = Arrays.copyOf(this.getPolyhedron().getSurfaces(), this.getPolyhedron().getSurfaces().length);
         Timer timer = new Timer();
         timer.start();
         Logger.info(Messages.STARTED_SORTING_SURFACES);
-        Arrays.sort(triangles);
+        Triangle[] triangles = this.permute(AreaRanking.sortedOrder(this.getAreaColumn()));
         timer.stop();
         Logger.info(Messages.DONE_SORTING_SURFACES);
         Logger.info(String.format(Messages.SORTING_TIME_MESSAGE, (double) timer.getElapsedMillis()));
@@ -44,6 +44,59 @@ public class PolyhedronController {
         return triangles;
     }
 
+    /**
+     * Returns the k surfaces with the smallest area without sorting all surfaces.
+     *
+     * @param k number of surfaces
+     * @return at most k triangles, smallest area first
+     * @precondition k >= 0
+     * @postcondition The result equals the first k elements of getSortedSurfaces()
+     */
+    public Triangle[] getSmallestSurfaces(int k) {
+        return this.permute(AreaRanking.smallest(this.getAreaColumn(), k));
+    }
+
+    /**
+     * Returns the k surfaces with the largest area without sorting all surfaces.
+     *
+     * @param k number of surfaces
+     * @return at most k triangles, largest area first
+     * @precondition k >= 0
+     * @postcondition Surfaces of equal area keep their original order
+     */
+    public Triangle[] getLargestSurfaces(int k) {
+        return this.permute(AreaRanking.largest(this.getAreaColumn(), k));
+    }
+
+    /**
+     * Logs the five smallest surfaces; only these five are selected, nothing is sorted.
+     *
+     * @precondition None
+     * @postcondition The surfaces of the polyhedron remain unchanged
+     */
+    public void logSmallestSurfaces() {
+        Logger.logFirstFiveElements(this.getSmallestSurfaces(Numbers.LOGGED_ELEMENTS_AMOUNT));
+    }
+
+    /**
+     * @return area of every surface, read once from the triangles and kept
+     */
+    private double[] getAreaColumn() {
+        if (this.areas == null) {
+            this.areas = AreaRanking.areaColumn(this.polyhedron.getSurfaces());
+        }
+        return this.areas;
+    }
+
+    private Triangle[] permute(int[] order) {
+        Triangle[] surfaces = this.polyhedron.getSurfaces();
+        Triangle[] triangles = new Triangle[order.length];
+        for (int i = 0; i < order.length; i++) {
+            triangles[i] = surfaces[order[i]];
+        }
+        return triangles;
+    }
+
     public Double getArea() {
         return this.polyhedron.getArea();
     }
@@ -4,4 +4,8 @@ public class EulerCharacteristicException extends GeometryException {
     public EulerCharacteristicException() {
         super(ExceptionMessages.INVALID_EULER_CHARACTERISTIC);
     }
+
+    public EulerCharacteristicException(int characteristic, int expected, int components, int genus) {
+        super(String.format(ExceptionMessages.INVALID_EULER_CHARACTERISTIC_VALUES, characteristic, expected, components, genus));
+    }
 }
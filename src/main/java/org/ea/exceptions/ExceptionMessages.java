@@ -4,10 +4,13 @@ public interface ExceptionMessages {
     String NOT_A_STL_FILE = "Not a .stl file";
     String END_OF_FILE_REACHED = "End of file reached!";
     String OFFSET_OUT_OF_RANGE = "End of file reached!";
+    String TOO_MANY_TRIANGLES_FOR_ARRAY = "The file has %d triangles, too many for one float array; read it facet by facet with forEachFacet";
     String EDGES_NOT_CONNECTED = "Edges are not connected to each other";
     String POLYGON_IS_NOT_CLOSED = "Polygon is not closed";
     String NOT_ENOUGH_EDGES = "Polygon does not have enough edges. At least 3!";
     String POLYHEDRON_IS_NOT_CLOSED = "Surfaces of Polyhedron are not closed";
+    String POLYHEDRON_HAS_OPEN_EDGES = "Surfaces of Polyhedron are not closed: %d boundary edge(s), %d non-manifold edge(s)";
     String NOT_A_TRIANGLE = "The given points do not form a triangle.";
     String INVALID_EULER_CHARACTERISTIC = "Invalid Euler characteristic: the formula V - E + F does not hold.";
+    String INVALID_EULER_CHARACTERISTIC_VALUES = "Invalid Euler characteristic: V - E + F = %d, expected %d for %d component(s) (genus %d)";
 }
@@ -4,4 +4,8 @@ public class NotAClosedPolyhedronException extends GeometryException{
     public NotAClosedPolyhedronException() {
         super(ExceptionMessages.POLYHEDRON_IS_NOT_CLOSED);
     }
+
+    public NotAClosedPolyhedronException(int boundaryEdges, int nonManifoldEdges) {
+        super(String.format(ExceptionMessages.POLYHEDRON_HAS_OPEN_EDGES, boundaryEdges, nonManifoldEdges));
+    }
 }
@@ -4,4 +4,8 @@ public class OffsetOutOfRangeException extends STLReaderException{
     public OffsetOutOfRangeException() {
         super(ExceptionMessages.OFFSET_OUT_OF_RANGE);
     }
+
+    public OffsetOutOfRangeException(int triangleAmount) {
+        super(String.format(ExceptionMessages.TOO_MANY_TRIANGLES_FOR_ARRAY, triangleAmount));
+    }
 }
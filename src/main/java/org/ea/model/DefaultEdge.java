@@ -1,5 +1,7 @@
 package org.ea.model;
 
+import org.ea.utiltities.VectorMath;
+
 /**
  * A default implementation of the {@link Edge3D} interface representing a directed edge in 3D space.
  */
@@ -65,7 +67,9 @@ public class DefaultEdge implements Edge3D {
      */
     @Override
     public double getLength() {
-        return this.getDirection().length();
+        Vertex start = this.getStart();
+        Vertex end = this.getEnd();
+        return VectorMath.distance(start.getX(), start.getY(), start.getZ(), end.getX(), end.getY(), end.getZ());
     }
 
     /**
@@ -82,7 +82,7 @@ public class DefaultVector implements Vector, BasicArithmetic<Vector> {
      * @postcondition Returns the stored x value
      */
     @Override
-    public Float getX() {
+    public float getX() {
         return this.x;
     }
 
@@ -94,7 +94,7 @@ public class DefaultVector implements Vector, BasicArithmetic<Vector> {
      * @postcondition Returns the stored y value
      */
     @Override
-    public Float getY() {
+    public float getY() {
         return this.y;
     }
 
@@ -106,7 +106,7 @@ public class DefaultVector implements Vector, BasicArithmetic<Vector> {
      * @postcondition Returns the stored z value
      */
     @Override
-    public Float getZ() {
+    public float getZ() {
         return this.z;
     }
 
@@ -0,0 +1,375 @@
+package org.ea.model;
+
+import org.ea.constant.GeometricConstants;
+import org.ea.constant.Numbers;
+import org.ea.utiltities.UnionFind;
+import org.ea.utiltities.VertexWelder;
+
+import java.util.Arrays;
+
+/**
+ * Index of the undirected edges of a triangle mesh and how many faces use each of them.
+ * An edge is keyed by its two vertex indices, smaller index first, packed into one long, and
+ * counted in an open-addressing table with linear probing; no edge objects are created and
+ * the whole index is built in one pass over the faces.
+ *
+ * <p>In a closed manifold surface every edge is used by exactly two faces. Edges used by a
+ * single face are boundary edges (the surface has a hole), edges used by more than two faces
+ * are non-manifold edges.</p>
+ *
+ * @precondition Face indices lie in [0, vertexAmount)
+ * @postcondition Boundary and non-manifold edges are available as vertex index pairs
+ */
+public final class EdgeTopology {
+    private static final long EMPTY = -1L;
+    private static final int MINIMUM_CAPACITY = 16;
+    private static final int FACES_PER_MANIFOLD_EDGE = 2;
+
+    private final int[] indices;
+    private final int vertexAmount;
+    private final int faceAmount;
+    private int[] firstCorners;
+    private final long[] keys;
+    private final int[] counts;
+    private final int mask;
+    private int edgeAmount;
+    private int[] boundaryEdges;
+    private int[] nonManifoldEdges;
+    private int componentAmount = -1;
+
+    private EdgeTopology(int[] indices, int vertexAmount, int faceAmount) {
+        this.indices = indices;
+        this.vertexAmount = vertexAmount;
+        this.faceAmount = faceAmount;
+        // ein Dreiecksnetz hat höchstens 3 Kanten pro Fläche, Tabelle bleibt höchstens halb voll
+        int edgeBound = Math.max(faceAmount * GeometricConstants.TRIANGLE_VERTICES_AMOUNT, MINIMUM_CAPACITY);
+        int capacity = Integer.highestOneBit(edgeBound * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        Arrays.fill(this.keys, EMPTY);
+        this.counts = new int[capacity];
+        this.mask = capacity - 1;
+        this.firstCorners = new int[faceAmount * GeometricConstants.TRIANGLE_VERTICES_AMOUNT];
+    }
+
+    /**
+     * Builds the edge index of faces given as vertex indices.
+     *
+     * @param indices 3 vertex indices per face
+     * @param faceAmount number of faces in indices
+     * @param vertexAmount number of vertices referenced by the faces
+     * @return the edge index
+     * @precondition indices.length >= 3 * faceAmount
+     * @postcondition every edge of every face is counted
+     */
+    public static EdgeTopology of(int[] indices, int faceAmount, int vertexAmount) {
+        EdgeTopology topology = new EdgeTopology(indices, vertexAmount, faceAmount);
+        for (int face = 0; face < faceAmount; face++) {
+            int first = face * GeometricConstants.TRIANGLE_VERTICES_AMOUNT;
+            int a = indices[first], b = indices[first + 1], c = indices[first + 2];
+            topology.count(a, b, first);
+            topology.count(b, c, first + 1);
+            topology.count(c, a, first + 2);
+        }
+        topology.firstCorners = Arrays.copyOf(topology.firstCorners, topology.edgeAmount);
+        topology.collectDefects();
+        return topology;
+    }
+
+    /**
+     * Builds the edge index of an indexed mesh.
+     *
+     * @param mesh the mesh
+     * @return the edge index
+     * @precondition mesh != null
+     * @postcondition every edge of every face is counted
+     */
+    public static EdgeTopology of(IndexedMesh mesh) {
+        return of(mesh.getIndices(), mesh.getFaceAmount(), mesh.getVertexAmount());
+    }
+
+    /**
+     * Builds the edge index of triangles; equal vertices are merged to one index first.
+     *
+     * @param surfaces the triangles
+     * @return the edge index
+     * @precondition surfaces != null
+     * @postcondition every edge of every triangle is counted
+     */
+    public static EdgeTopology of(Triangle[] surfaces) {
+        VertexWelder welder = new VertexWelder(surfaces.length / 2);
+        int[] indices = new int[surfaces.length * GeometricConstants.TRIANGLE_VERTICES_AMOUNT];
+        int i = 0;
+        for (Triangle surface : surfaces) {
+            for (Edge3D edge : surface.getEdges()) {
+                Vertex vertex = edge.getStart();
+                indices[i++] = welder.add(vertex.getX(), vertex.getY(), vertex.getZ());
+            }
+        }
+        return of(indices, surfaces.length, welder.getVertexAmount());
+    }
+
+    /**
+     * Packs an undirected edge into a key, smaller vertex index first.
+     *
+     * @param a index of one vertex
+     * @param b index of the other vertex
+     * @return key equal for (a, b) and (b, a)
+     * @precondition a >= 0 && b >= 0
+     * @postcondition No state is changed
+     */
+    public static long edgeKey(int a, int b) {
+        return a < b ? ((long) a << Integer.SIZE) | b : ((long) b << Integer.SIZE) | a;
+    }
+
+    /**
+     * Returns how many faces use an edge.
+     *
+     * @param a index of one vertex
+     * @param b index of the other vertex
+     * @return number of faces using the edge, 0 if there is no such edge
+     * @precondition a >= 0 && b >= 0
+     * @postcondition No state is changed
+     */
+    public int getFaceCount(int a, int b) {
+        long key = edgeKey(a, b);
+        int slot = slot(key);
+        while (this.keys[slot] != EMPTY) {
+            if (this.keys[slot] == key) {
+                return this.counts[slot];
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the face vertex indices the index was built from.
+     *
+     * @return 3 vertex indices per face; corner k of face f is at 3f + k
+     * @precondition None
+     * @postcondition Reference to the array is returned
+     */
+    public int[] getIndices() {
+        return this.indices;
+    }
+
+    /**
+     * Returns for every distinct edge the corner where it occurs first. The edge of corner
+     * 3f + k runs from corner k to corner (k + 1) mod 3 of face f.
+     *
+     * @return one corner per distinct edge, in order of first occurrence
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public int[] getFirstCorners() {
+        return this.firstCorners;
+    }
+
+    /**
+     * @return number of distinct edges
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getEdgeAmount() {
+        return this.edgeAmount;
+    }
+
+    /**
+     * @return number of vertices referenced by the faces
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getVertexAmount() {
+        return this.vertexAmount;
+    }
+
+    /**
+     * @return number of faces
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getFaceAmount() {
+        return this.faceAmount;
+    }
+
+    /**
+     * Returns the edges used by only one face.
+     *
+     * @return 2 vertex indices per boundary edge, smaller index first
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public int[] getBoundaryEdges() {
+        return this.boundaryEdges;
+    }
+
+    /**
+     * Returns the edges used by more than two faces.
+     *
+     * @return 2 vertex indices per non-manifold edge, smaller index first
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public int[] getNonManifoldEdges() {
+        return this.nonManifoldEdges;
+    }
+
+    /**
+     * @return number of edges used by only one face
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getBoundaryEdgeAmount() {
+        return this.boundaryEdges.length / 2;
+    }
+
+    /**
+     * @return number of edges used by more than two faces
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getNonManifoldEdgeAmount() {
+        return this.nonManifoldEdges.length / 2;
+    }
+
+    /**
+     * Checks whether the surface has no holes, i.e. every edge is used by at least two faces.
+     *
+     * @return true if there are no boundary edges
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    public boolean isClosed() {
+        return this.boundaryEdges.length == 0;
+    }
+
+    /**
+     * Checks whether every edge is used by exactly two faces.
+     *
+     * @return true if the surface is closed and has no non-manifold edges
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    public boolean isClosedManifold() {
+        return this.boundaryEdges.length == 0 && this.nonManifoldEdges.length == 0;
+    }
+
+    /**
+     * Returns the Euler characteristic V - E + F of the surface.
+     *
+     * @return number of vertices minus number of edges plus number of faces
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    public int getEulerCharacteristic() {
+        return this.vertexAmount - this.edgeAmount + this.faceAmount;
+    }
+
+    /**
+     * Returns the number of connected parts of the surface; vertices connected by an edge
+     * belong to the same part. Counted with a {@link UnionFind} over the vertices on the
+     * first call.
+     *
+     * @return number of connected components
+     * @precondition None
+     * @postcondition The value is computed at most once
+     */
+    public int getComponentAmount() {
+        if (this.componentAmount < 0) {
+            this.componentAmount = this.toUnionFind().getComponentAmount();
+        }
+        return this.componentAmount;
+    }
+
+    /**
+     * Joins the vertices of every face into one set.
+     *
+     * @return sets of vertices, one per connected component
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    public UnionFind toUnionFind() {
+        UnionFind components = new UnionFind(this.vertexAmount);
+        for (int face = 0; face < this.faceAmount; face++) {
+            int first = face * GeometricConstants.TRIANGLE_VERTICES_AMOUNT;
+            components.union(this.indices[first], this.indices[first + 1]);
+            components.union(this.indices[first], this.indices[first + 2]);
+        }
+        return components;
+    }
+
+    /**
+     * Returns the total genus (number of handles) of a closed orientable surface, from
+     * V - E + F = 2 * (components - genus).
+     *
+     * @return sum of the genera of all components
+     * @precondition the surface is closed and orientable
+     * @postcondition No state is changed
+     */
+    public int getGenus() {
+        return (Numbers.EULER_RESULT * this.getComponentAmount() - this.getEulerCharacteristic()) / Numbers.EULER_RESULT;
+    }
+
+    /**
+     * Checks that every component is topologically a sphere, i.e. V - E + F = 2 per component.
+     *
+     * @return true if the Euler characteristic is 2 times the number of components
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    public boolean isEulerValid() {
+        return this.getEulerCharacteristic() == Numbers.EULER_RESULT * this.getComponentAmount();
+    }
+
+    private void count(int a, int b, int corner) {
+        long key = edgeKey(a, b);
+        int slot = slot(key);
+        while (this.keys[slot] != EMPTY) {
+            if (this.keys[slot] == key) {
+                this.counts[slot]++;
+                return;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        this.keys[slot] = key;
+        this.counts[slot] = 1;
+        this.firstCorners[this.edgeAmount++] = corner;
+    }
+
+    private void collectDefects() {
+        int boundary = 0;
+        int nonManifold = 0;
+        for (int slot = 0; slot < this.keys.length; slot++) {
+            if (this.keys[slot] == EMPTY) {
+                continue;
+            }
+            if (this.counts[slot] < FACES_PER_MANIFOLD_EDGE) {
+                boundary++;
+            } else if (this.counts[slot] > FACES_PER_MANIFOLD_EDGE) {
+                nonManifold++;
+            }
+        }
+        this.boundaryEdges = new int[boundary * 2];
+        this.nonManifoldEdges = new int[nonManifold * 2];
+        int b = 0;
+        int n = 0;
+        for (int slot = 0; slot < this.keys.length; slot++) {
+            long key = this.keys[slot];
+            if (key == EMPTY) {
+                continue;
+            }
+            if (this.counts[slot] < FACES_PER_MANIFOLD_EDGE) {
+                this.boundaryEdges[b++] = (int) (key >>> Integer.SIZE);
+                this.boundaryEdges[b++] = (int) key;
+            } else if (this.counts[slot] > FACES_PER_MANIFOLD_EDGE) {
+                this.nonManifoldEdges[n++] = (int) (key >>> Integer.SIZE);
+                this.nonManifoldEdges[n++] = (int) key;
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & this.mask;
+    }
+}
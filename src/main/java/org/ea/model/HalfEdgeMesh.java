@@ -0,0 +1,330 @@
+package org.ea.model;
+
+import org.ea.constant.GeometricConstants;
+
+import java.util.Arrays;
+
+/**
+ * Array-based half-edge structure of a triangle mesh.
+ * Every face f owns the three half-edges 3f, 3f + 1 and 3f + 2; half-edge 3f + k starts at
+ * corner k of the face and ends at corner (k + 1) mod 3. Face, next and previous half-edge
+ * therefore follow from the index and are not stored. Stored are the start vertex and the twin
+ * of every half-edge and one outgoing half-edge per vertex, so neighbouring faces are found in
+ * O(1) and the faces and vertices around a vertex in O(degree).
+ *
+ * <p>Twins are found by the opposite direction of an edge, so the faces have to be oriented
+ * consistently. Half-edges without a twin lie on a boundary; for an edge of more than two
+ * faces only one pair of half-edges becomes twins, and around a vertex where several fans
+ * meet only the fan of {@link #outgoing(int)} is walked.</p>
+ *
+ * @precondition Face indices lie in [0, vertexAmount)
+ * @postcondition Every half-edge knows its twin, or {@link #NO_HALF_EDGE} on a boundary
+ */
+public final class HalfEdgeMesh {
+    public static final int NO_HALF_EDGE = -1;
+    private static final int EDGES_PER_FACE = GeometricConstants.TRIANGLE_VERTICES_AMOUNT;
+    private static final long EMPTY = -1L;
+
+    private final int[] vertices;
+    private final int[] twins;
+    private final int[] outgoing;
+    private final int faceAmount;
+
+    private HalfEdgeMesh(int[] indices, int faceAmount, int vertexAmount) {
+        this.faceAmount = faceAmount;
+        this.vertices = Arrays.copyOf(indices, faceAmount * EDGES_PER_FACE);
+        this.twins = new int[this.vertices.length];
+        this.outgoing = new int[vertexAmount];
+        Arrays.fill(this.outgoing, NO_HALF_EDGE);
+    }
+
+    /**
+     * Builds the half-edge structure of faces given as vertex indices in linear time.
+     *
+     * @param indices 3 vertex indices per face
+     * @param faceAmount number of faces in indices
+     * @param vertexAmount number of vertices referenced by the faces
+     * @return the half-edge structure
+     * @precondition indices.length >= 3 * faceAmount
+     * @postcondition twins and outgoing half-edges are set
+     */
+    public static HalfEdgeMesh of(int[] indices, int faceAmount, int vertexAmount) {
+        HalfEdgeMesh mesh = new HalfEdgeMesh(indices, faceAmount, vertexAmount);
+        mesh.linkTwins();
+        mesh.linkOutgoing();
+        return mesh;
+    }
+
+    /**
+     * Builds the half-edge structure of an indexed mesh.
+     *
+     * @param mesh the mesh
+     * @return the half-edge structure
+     * @precondition mesh != null
+     * @postcondition twins and outgoing half-edges are set
+     */
+    public static HalfEdgeMesh of(IndexedMesh mesh) {
+        return of(mesh.getIndices(), mesh.getFaceAmount(), mesh.getVertexAmount());
+    }
+
+    /**
+     * @return number of half-edges, 3 per face
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getHalfEdgeAmount() {
+        return this.vertices.length;
+    }
+
+    /**
+     * @return number of faces
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getFaceAmount() {
+        return this.faceAmount;
+    }
+
+    /**
+     * @return number of vertices
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getVertexAmount() {
+        return this.outgoing.length;
+    }
+
+    /**
+     * @param halfEdge index of the half-edge
+     * @return face the half-edge belongs to
+     * @precondition 0 <= halfEdge < getHalfEdgeAmount()
+     * @postcondition No state is changed
+     */
+    public int face(int halfEdge) {
+        return halfEdge / EDGES_PER_FACE;
+    }
+
+    /**
+     * @param halfEdge index of the half-edge
+     * @return next half-edge of the same face
+     * @precondition 0 <= halfEdge < getHalfEdgeAmount()
+     * @postcondition No state is changed
+     */
+    public int next(int halfEdge) {
+        return halfEdge % EDGES_PER_FACE == EDGES_PER_FACE - 1 ? halfEdge - (EDGES_PER_FACE - 1) : halfEdge + 1;
+    }
+
+    /**
+     * @param halfEdge index of the half-edge
+     * @return previous half-edge of the same face
+     * @precondition 0 <= halfEdge < getHalfEdgeAmount()
+     * @postcondition No state is changed
+     */
+    public int previous(int halfEdge) {
+        return halfEdge % EDGES_PER_FACE == 0 ? halfEdge + (EDGES_PER_FACE - 1) : halfEdge - 1;
+    }
+
+    /**
+     * @param halfEdge index of the half-edge
+     * @return half-edge of the neighbouring face in opposite direction, or {@link #NO_HALF_EDGE}
+     * @precondition 0 <= halfEdge < getHalfEdgeAmount()
+     * @postcondition No state is changed
+     */
+    public int twin(int halfEdge) {
+        return this.twins[halfEdge];
+    }
+
+    /**
+     * @param halfEdge index of the half-edge
+     * @return vertex the half-edge starts at
+     * @precondition 0 <= halfEdge < getHalfEdgeAmount()
+     * @postcondition No state is changed
+     */
+    public int origin(int halfEdge) {
+        return this.vertices[halfEdge];
+    }
+
+    /**
+     * @param halfEdge index of the half-edge
+     * @return vertex the half-edge ends at
+     * @precondition 0 <= halfEdge < getHalfEdgeAmount()
+     * @postcondition No state is changed
+     */
+    public int target(int halfEdge) {
+        return this.vertices[this.next(halfEdge)];
+    }
+
+    /**
+     * @param halfEdge index of the half-edge
+     * @return true if the half-edge has no twin
+     * @precondition 0 <= halfEdge < getHalfEdgeAmount()
+     * @postcondition No state is changed
+     */
+    public boolean isBoundary(int halfEdge) {
+        return this.twins[halfEdge] == NO_HALF_EDGE;
+    }
+
+    /**
+     * Returns a half-edge starting at a vertex. On a boundary vertex it is the boundary
+     * half-edge, so walking around the vertex from it reaches all faces.
+     *
+     * @param vertex index of the vertex
+     * @return outgoing half-edge, or {@link #NO_HALF_EDGE} if no face uses the vertex
+     * @precondition 0 <= vertex < getVertexAmount()
+     * @postcondition No state is changed
+     */
+    public int outgoing(int vertex) {
+        return this.outgoing[vertex];
+    }
+
+    /**
+     * Returns the faces sharing an edge with a face.
+     *
+     * @param face index of the face
+     * @return 3 face indices, one per edge, -1 where the edge is a boundary
+     * @precondition 0 <= face < getFaceAmount()
+     * @postcondition No state is changed
+     */
+    public int[] adjacentFaces(int face) {
+        int[] faces = new int[EDGES_PER_FACE];
+        for (int k = 0; k < EDGES_PER_FACE; k++) {
+            int twin = this.twins[face * EDGES_PER_FACE + k];
+            faces[k] = twin == NO_HALF_EDGE ? NO_HALF_EDGE : this.face(twin);
+        }
+        return faces;
+    }
+
+    /**
+     * Returns the faces around a vertex.
+     *
+     * @param vertex index of the vertex
+     * @return indices of all faces using the vertex, in rotational order
+     * @precondition 0 <= vertex < getVertexAmount()
+     * @postcondition No state is changed
+     */
+    public int[] vertexFaces(int vertex) {
+        int[] faces = new int[this.valence(vertex)];
+        int i = 0;
+        int start = this.outgoing[vertex];
+        int halfEdge = start;
+        while (halfEdge != NO_HALF_EDGE && i < faces.length) {
+            faces[i++] = this.face(halfEdge);
+            halfEdge = this.rotate(halfEdge, start);
+        }
+        return faces;
+    }
+
+    /**
+     * Returns the vertices connected to a vertex by an edge.
+     *
+     * @param vertex index of the vertex
+     * @return indices of the neighbouring vertices, in rotational order
+     * @precondition 0 <= vertex < getVertexAmount()
+     * @postcondition No state is changed
+     */
+    public int[] vertexNeighbours(int vertex) {
+        int start = this.outgoing[vertex];
+        if (start == NO_HALF_EDGE) {
+            return new int[0];
+        }
+        int valence = this.valence(vertex);
+        boolean open = this.isBoundary(start);
+        // an einem Rand hat der Fächer eine Kante mehr als Flächen
+        int[] neighbours = new int[open ? valence + 1 : valence];
+        int i = 0;
+        int halfEdge = start;
+        int last = start;
+        while (halfEdge != NO_HALF_EDGE && i < valence) {
+            neighbours[i++] = this.target(halfEdge);
+            last = halfEdge;
+            halfEdge = this.rotate(halfEdge, start);
+        }
+        if (open) {
+            neighbours[i] = this.origin(this.previous(last));
+        }
+        return neighbours;
+    }
+
+    /**
+     * Counts the faces around a vertex.
+     *
+     * @param vertex index of the vertex
+     * @return number of faces reached by walking around the vertex
+     * @precondition 0 <= vertex < getVertexAmount()
+     * @postcondition No state is changed
+     */
+    public int valence(int vertex) {
+        int start = this.outgoing[vertex];
+        int valence = 0;
+        int halfEdge = start;
+        while (halfEdge != NO_HALF_EDGE) {
+            valence++;
+            halfEdge = this.rotate(halfEdge, start);
+        }
+        return valence;
+    }
+
+    /**
+     * Steps to the next outgoing half-edge of the same vertex.
+     *
+     * @return the next outgoing half-edge, or {@link #NO_HALF_EDGE} at a boundary or when
+     *         the walk is back at start
+     */
+    private int rotate(int halfEdge, int start) {
+        int incoming = this.twins[this.previous(halfEdge)];
+        return incoming == start ? NO_HALF_EDGE : incoming;
+    }
+
+    private void linkTwins() {
+        int capacity = Integer.highestOneBit(Math.max(this.vertices.length, 8) * 2 - 1) << 1;
+        int mask = capacity - 1;
+        long[] keys = new long[capacity];
+        int[] halfEdges = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(this.twins, NO_HALF_EDGE);
+        for (int halfEdge = 0; halfEdge < this.vertices.length; halfEdge++) {
+            int from = this.vertices[halfEdge];
+            int to = this.target(halfEdge);
+            // passende Gegenrichtung suchen, die noch keinen Zwilling hat
+            long opposite = directedKey(to, from);
+            int slot = slot(opposite, mask);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == opposite && this.twins[halfEdges[slot]] == NO_HALF_EDGE) {
+                    this.twins[halfEdge] = halfEdges[slot];
+                    this.twins[halfEdges[slot]] = halfEdge;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (this.twins[halfEdge] != NO_HALF_EDGE) {
+                continue;
+            }
+            long key = directedKey(from, to);
+            slot = slot(key, mask);
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            halfEdges[slot] = halfEdge;
+        }
+    }
+
+    private void linkOutgoing() {
+        for (int halfEdge = 0; halfEdge < this.vertices.length; halfEdge++) {
+            int vertex = this.vertices[halfEdge];
+            // Rand-Halbkanten bevorzugen, damit die Rotation alle Flächen erreicht
+            if (this.outgoing[vertex] == NO_HALF_EDGE || this.isBoundary(halfEdge)) {
+                this.outgoing[vertex] = halfEdge;
+            }
+        }
+    }
+
+    private static long directedKey(int from, int to) {
+        return ((long) from << Integer.SIZE) | (to & 0xFFFFFFFFL);
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,251 @@
+package org.ea.model;
+
+import org.ea.constant.GeometricConstants;
+import org.ea.exceptions.GeometryException;
+import org.ea.utiltities.GeometryUtils;
+import org.ea.utiltities.VectorMath;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Compact triangle mesh stored as struct of arrays.
+ * Vertex coordinates are kept in one float array, faces as vertex indices in one int array,
+ * and normal, area and perimeter of every face in per-face float columns. Objects of the
+ * regular model API ({@link Vertex}, {@link Triangle}) are only created on request as views.
+ * The area and perimeter columns may be left out on construction; they are then filled in
+ * one pass over all faces on first access, so a mesh that is only rendered never computes them.
+ *
+ * @precondition Arrays are sized for vertexAmount vertices and faceAmount faces
+ * @postcondition Mesh data is accessible without per-vertex or per-face objects
+ */
+public class IndexedMesh {
+    private static final int COORDINATES_PER_VERTEX = 3;
+    private static final int INDICES_PER_FACE = 3;
+
+    private final float[] coordinates;
+    private final int vertexAmount;
+    private final int[] indices;
+    private final float[] normals;
+    private volatile float[] areas;
+    private volatile float[] perimeters;
+    private final int faceAmount;
+
+    /**
+     * Constructs the mesh around already filled arrays; areas and perimeters are computed
+     * from the coordinates when first requested.
+     *
+     * @param coordinates 3 floats (x, y, z) per vertex
+     * @param vertexAmount number of valid vertices in coordinates
+     * @param indices 3 vertex indices per face
+     * @param normals 3 floats per face
+     * @param faceAmount number of valid faces in the face arrays
+     * @precondition arrays are not null and every index is below vertexAmount
+     * @postcondition arrays are referenced, not copied
+     */
+    public IndexedMesh(float[] coordinates, int vertexAmount, int[] indices, float[] normals, int faceAmount) {
+        this(coordinates, vertexAmount, indices, normals, null, null, faceAmount);
+    }
+
+    /**
+     * Constructs the mesh around already filled arrays.
+     *
+     * @param coordinates 3 floats (x, y, z) per vertex
+     * @param vertexAmount number of valid vertices in coordinates
+     * @param indices 3 vertex indices per face
+     * @param normals 3 floats per face
+     * @param areas 1 float per face, or null to compute them on demand
+     * @param perimeters 1 float per face, or null to compute them on demand
+     * @param faceAmount number of valid faces in the face arrays
+     * @precondition arrays are not null and every index is below vertexAmount
+     * @postcondition arrays are referenced, not copied
+     */
+    public IndexedMesh(float[] coordinates, int vertexAmount, int[] indices,
+                       float[] normals, float[] areas, float[] perimeters, int faceAmount) {
+        this.coordinates = coordinates;
+        this.vertexAmount = vertexAmount;
+        this.indices = indices;
+        this.normals = normals;
+        this.areas = areas;
+        this.perimeters = perimeters;
+        this.faceAmount = faceAmount;
+    }
+
+    /**
+     * @return vertex coordinates, 3 floats per vertex; may be longer than needed
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public float[] getCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * @return vertex indices, 3 ints per face; may be longer than needed
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public int[] getIndices() {
+        return indices;
+    }
+
+    /**
+     * @return face normals, 3 floats per face; may be longer than needed
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public float[] getNormals() {
+        return normals;
+    }
+
+    /**
+     * Returns the face areas, computing the whole column on the first call if it was not given.
+     *
+     * @return face areas, 1 float per face; may be longer than needed
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public float[] getAreas() {
+        float[] areas = this.areas;
+        if (areas == null) {
+            areas = new float[this.faceAmount];
+            for (int face = 0; face < this.faceAmount; face++) {
+                int first = face * INDICES_PER_FACE;
+                areas[face] = (float) VectorMath.triangleArea(this.coordinates,
+                        this.indices[first] * COORDINATES_PER_VERTEX,
+                        this.indices[first + 1] * COORDINATES_PER_VERTEX,
+                        this.indices[first + 2] * COORDINATES_PER_VERTEX);
+            }
+            this.areas = areas;
+        }
+        return areas;
+    }
+
+    /**
+     * Returns the face perimeters, computing the whole column on the first call if it was not given.
+     *
+     * @return face perimeters, 1 float per face; may be longer than needed
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public float[] getPerimeters() {
+        float[] perimeters = this.perimeters;
+        if (perimeters == null) {
+            perimeters = new float[this.faceAmount];
+            for (int face = 0; face < this.faceAmount; face++) {
+                int first = face * INDICES_PER_FACE;
+                perimeters[face] = (float) VectorMath.trianglePerimeter(this.coordinates,
+                        this.indices[first] * COORDINATES_PER_VERTEX,
+                        this.indices[first + 1] * COORDINATES_PER_VERTEX,
+                        this.indices[first + 2] * COORDINATES_PER_VERTEX);
+            }
+            this.perimeters = perimeters;
+        }
+        return perimeters;
+    }
+
+    /**
+     * @return number of vertices
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getVertexAmount() {
+        return vertexAmount;
+    }
+
+    /**
+     * @return number of faces
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getFaceAmount() {
+        return faceAmount;
+    }
+
+    /**
+     * Returns one coordinate of a vertex.
+     *
+     * @param vertex index of the vertex
+     * @param axis 0 for x, 1 for y, 2 for z
+     * @return the coordinate
+     * @precondition 0 <= vertex < getVertexAmount() && 0 <= axis < 3
+     * @postcondition No state is changed
+     */
+    public float getCoordinate(int vertex, int axis) {
+        return coordinates[vertex * COORDINATES_PER_VERTEX + axis];
+    }
+
+    /**
+     * Returns the vertex index of a face corner.
+     *
+     * @param face index of the face
+     * @param corner corner of the face (0, 1 or 2)
+     * @return index of the vertex
+     * @precondition 0 <= face < getFaceAmount() && 0 <= corner < 3
+     * @postcondition No state is changed
+     */
+    public int getVertexIndex(int face, int corner) {
+        return indices[face * INDICES_PER_FACE + corner];
+    }
+
+    /**
+     * Returns a view of a vertex as {@link Vertex}; the coordinates are read from the mesh.
+     *
+     * @param vertex index of the vertex
+     * @return vertex view
+     * @precondition 0 <= vertex < getVertexAmount()
+     * @postcondition A new lightweight view is returned
+     */
+    public Vertex getVertex(int vertex) {
+        return new IndexedVertex(this, vertex);
+    }
+
+    /**
+     * Builds a {@link Triangle} for a face on demand.
+     * The triangle references vertex views and takes normal, area and perimeter from the columns.
+     *
+     * @param face index of the face
+     * @return triangle of the face
+     * @throws GeometryException if the face does not form a valid triangle
+     * @precondition 0 <= face < getFaceAmount()
+     * @postcondition A new triangle is returned; the mesh is unchanged
+     */
+    public Triangle getTriangle(int face) throws GeometryException {
+        Vertex[] vertices = new Vertex[GeometricConstants.TRIANGLE_VERTICES_AMOUNT];
+        for (int corner = 0; corner < vertices.length; corner++) {
+            vertices[corner] = this.getVertex(this.getVertexIndex(face, corner));
+        }
+        int n = face * COORDINATES_PER_VERTEX;
+        return new Triangle(
+                GeometryUtils.createEdgesFromVertices(vertices),
+                new DefaultVector(normals[n], normals[n + 1], normals[n + 2]),
+                (double) this.getAreas()[face],
+                (double) this.getPerimeters()[face]);
+    }
+
+    /**
+     * Returns a read-only list view over all faces as triangles.
+     * Each access builds the triangle anew, so only the triangles in use occupy memory.
+     *
+     * @return list of triangles backed by this mesh
+     * @precondition None
+     * @postcondition The mesh is unchanged
+     */
+    public List<Triangle> asTriangles() {
+        return new AbstractList<>() {
+            @Override
+            public Triangle get(int index) {
+                try {
+                    return getTriangle(index);
+                } catch (GeometryException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public int size() {
+                return faceAmount;
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package org.ea.model;
+
+import java.util.Objects;
+
+/**
+ * A vertex view into an {@link IndexedMesh}.
+ * Only the mesh reference and the vertex index are stored; coordinates are read from the mesh.
+ * Equality and hash code match {@link DefaultVertex}, so both can be mixed in collections.
+ */
+public class IndexedVertex implements Vertex {
+    private final IndexedMesh mesh;
+    private final int index;
+
+    /**
+     * Constructs a view of a mesh vertex.
+     *
+     * @param mesh  the mesh holding the coordinates
+     * @param index index of the vertex in the mesh
+     * @precondition {@code mesh != null && 0 <= index < mesh.getVertexAmount()}
+     * @postcondition A view of the vertex is created
+     */
+    public IndexedVertex(IndexedMesh mesh, int index) {
+        this.mesh = mesh;
+        this.index = index;
+    }
+
+    /**
+     * Returns the index of this vertex in its mesh.
+     *
+     * @return the vertex index
+     * @precondition none
+     * @postcondition The index is returned
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public float getX() {
+        return this.mesh.getCoordinate(this.index, 0);
+    }
+
+    @Override
+    public float getY() {
+        return this.mesh.getCoordinate(this.index, 1);
+    }
+
+    @Override
+    public float getZ() {
+        return this.mesh.getCoordinate(this.index, 2);
+    }
+
+    /**
+     * Subtracts another vertex from this vertex and returns the resulting vector.
+     *
+     * @param other the vertex to subtract
+     * @return a vector representing the difference {@code this - other}
+     * @precondition {@code other != null}
+     * @postcondition A new vector is returned pointing from {@code other} to {@code this}
+     */
+    @Override
+    public Vector subtract(Vertex other) {
+        return new DefaultVector(
+                this.getX() - other.getX(),
+                this.getY() - other.getY(),
+                this.getZ() - other.getZ()
+        );
+    }
+
+    /**
+     * Computes a hash code based on the x, y, and z coordinates, like {@link DefaultVertex}.
+     *
+     * @return a consistent hash code
+     * @precondition none
+     * @postcondition Equal vertices return equal hash codes
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(getX(), getY(), getZ());
+    }
+
+    /**
+     * Compares this vertex to another object by coordinates.
+     *
+     * @param obj the object to compare to
+     * @return {@code true} if the other object is a {@code Vertex} with the same coordinates
+     * @precondition none
+     * @postcondition Returns {@code true} if {@code obj} has equal coordinates, otherwise {@code false}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Vertex other)) return false;
+        return Vertex.super.equals(other);
+    }
+}
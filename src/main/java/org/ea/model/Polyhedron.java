@@ -4,11 +4,6 @@ import org.ea.constant.GeometricConstants;
 import org.ea.constant.Numbers;
 import org.ea.exceptions.EulerCharacteristicException;
 import org.ea.exceptions.NotAClosedPolyhedronException;
-import org.ea.utiltities.GeometryUtils;
-
-import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 public class Polyhedron implements SolidGeometry {
 
@@ -17,37 +12,79 @@ public class Polyhedron implements SolidGeometry {
     private final Edge3D[] edges;
     private final double area;
     private final double volume;
+    private final EdgeTopology edgeTopology;
+    private HalfEdgeMesh halfEdgeMesh;
 
     public Polyhedron(Triangle[] surfaces, double area, double volume) throws NotAClosedPolyhedronException, EulerCharacteristicException {
-        // collect edges and vertices
-        Edge3D[] edges = GeometryUtils.collectEdgesFromSurfaces(surfaces).toArray(new Edge3D[0]);
-        if (!areSurfacesConnectedToEachOtherByEdges(edges)) throw new NotAClosedPolyhedronException();
+        this(surfaces, area, volume, EdgeTopology.of(surfaces));
+    }
+
+    /**
+     * Constructs a polyhedron whose edge index is already known, e.g. from an {@link IndexedMesh}.
+     *
+     * @param surfaces the triangles
+     * @param area total area of the triangles
+     * @param volume enclosed volume
+     * @param edgeTopology edge index of the triangles
+     * @throws NotAClosedPolyhedronException if an edge is used by only one triangle
+     * @throws EulerCharacteristicException never, the Euler characteristic is not validated
+     * @precondition edgeTopology was built from surfaces
+     * @postcondition The polyhedron is closed
+     */
+    public Polyhedron(Triangle[] surfaces, double area, double volume, EdgeTopology edgeTopology)
+            throws NotAClosedPolyhedronException, EulerCharacteristicException {
+        this(surfaces, area, volume, edgeTopology, false);
+    }
+
+    /**
+     * Constructs a polyhedron and optionally validates its Euler characteristic.
+     * With validation every connected component has to be topologically a sphere
+     * (V - E + F = 2); vertex and edge counts come from the edge index, so the check is linear.
+     *
+     * @param surfaces the triangles
+     * @param area total area of the triangles
+     * @param volume enclosed volume
+     * @param edgeTopology edge index of the triangles
+     * @param validateEuler true to check V - E + F = 2 per component
+     * @throws NotAClosedPolyhedronException if an edge is used by only one triangle
+     * @throws EulerCharacteristicException if validateEuler is set and the check fails
+     * @precondition edgeTopology was built from surfaces
+     * @postcondition The polyhedron is closed and, if validated, of genus 0
+     */
+    public Polyhedron(Triangle[] surfaces, double area, double volume, EdgeTopology edgeTopology, boolean validateEuler)
+            throws NotAClosedPolyhedronException, EulerCharacteristicException {
+        // every edge has to be shared by at least two surfaces
+        if (!edgeTopology.isClosed()) {
+            throw new NotAClosedPolyhedronException(edgeTopology.getBoundaryEdgeAmount(), edgeTopology.getNonManifoldEdgeAmount());
+        }
+        this.edgeTopology = edgeTopology;
         this.surfaces = surfaces;
         this.area = area;
         this.volume = volume;
-        // removing duplicate edges
-        this.edges = GeometryUtils.removeDuplicates(edges, Edge3D[]::new);
-        // remove duplicate vertices
-        this.vertices = GeometryUtils.removeDuplicates(GeometryUtils.collectVerticesFromSurfaces(surfaces).toArray(new Vertex[0]), Vertex[]::new);
+        // Ecken und Kanten über die Indizes entdoppeln, jeweils das erste Vorkommen behalten
+        int[] indices = edgeTopology.getIndices();
+        this.vertices = new Vertex[edgeTopology.getVertexAmount()];
+        for (int corner = 0; corner < surfaces.length * GeometricConstants.TRIANGLE_VERTICES_AMOUNT; corner++) {
+            if (this.vertices[indices[corner]] == null) {
+                this.vertices[indices[corner]] = this.edgeOfCorner(corner).getStart();
+            }
+        }
+        int[] firstCorners = edgeTopology.getFirstCorners();
+        this.edges = new Edge3D[firstCorners.length];
+        for (int edge = 0; edge < firstCorners.length; edge++) {
+            this.edges[edge] = this.edgeOfCorner(firstCorners[edge]);
+        }
         // check for euler
-        //if (this.vertices.length - this.edges.length + this.surfaces.length!= Numbers.EULER_RESULT) throw new EulerCharacteristicException();
-
+        if (validateEuler && !edgeTopology.isEulerValid()) {
+            throw new EulerCharacteristicException(edgeTopology.getEulerCharacteristic(),
+                    Numbers.EULER_RESULT * edgeTopology.getComponentAmount(),
+                    edgeTopology.getComponentAmount(), edgeTopology.getGenus());
+        }
     }
 
-    private boolean areSurfacesConnectedToEachOtherByEdges(Edge3D[] edges) {
-        Map<Edge3D, Long> occurrences = Arrays.stream(edges)
-                .collect(Collectors.groupingBy(
-                        Function.identity(),     // Gruppiere nach sich selbst
-                        Collectors.counting()    // Zähle Vorkommen
-                ));
-        // if the edges doesnt occur twice
-        // the shape cannot be a closed Polyhedron
-        for (Long value : occurrences.values()) {
-            if (value < 2) {
-                return false;
-            }
-        }
-        return true;
+    private Edge3D edgeOfCorner(int corner) {
+        return this.surfaces[corner / GeometricConstants.TRIANGLE_VERTICES_AMOUNT]
+                .getEdges()[corner % GeometricConstants.TRIANGLE_VERTICES_AMOUNT];
     }
 
     @Override
@@ -76,4 +113,30 @@ public class Polyhedron implements SolidGeometry {
     public Vertex[] getVertices() {
         return vertices;
     }
+
+    /**
+     * Returns the edge index with the boundary and non-manifold edges of the surfaces.
+     *
+     * @return the edge index
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    public EdgeTopology getEdgeTopology() {
+        return edgeTopology;
+    }
+
+    /**
+     * Returns the half-edge structure of the surfaces for adjacency queries.
+     * It is built on the first call from the vertex indices of the edge index and kept.
+     *
+     * @return the half-edge structure; face i is surface i, vertex j is getVertices()[j]
+     * @precondition None
+     * @postcondition The structure is built at most once per polyhedron
+     */
+    public HalfEdgeMesh getHalfEdgeMesh() {
+        if (this.halfEdgeMesh == null) {
+            this.halfEdgeMesh = HalfEdgeMesh.of(this.edgeTopology.getIndices(), this.surfaces.length, this.vertices.length);
+        }
+        return this.halfEdgeMesh;
+    }
 }
@@ -8,7 +8,7 @@ import org.ea.utiltities.GeometryUtils;
  */
 public class Polyline {
     private final Edge3D[] edges;
-    private final Vertex[] vertices;
+    private volatile Vertex[] vertices;
 
     /**
      * Constructs a polyline from an array of connected edges.
@@ -17,17 +17,13 @@ public class Polyline {
      * @param edges an array of connected {@link Edge3D} objects
      * @throws RuntimeException if the edges are not connected
      * @precondition {@code edges != null && edges.length > 0 && all edges != null}
-     * @postcondition Creates a polyline and computes a unique, ordered list of vertices
+     * @postcondition Creates a polyline; the unique vertices are collected on first access
      */
     public Polyline(Edge3D[] edges) {
         if (!areEdgesConnected(edges)) {
             throw new RuntimeException(ExceptionMessages.EDGES_NOT_CONNECTED);
         }
         this.edges = edges;
-        this.vertices = GeometryUtils.removeDuplicates(
-                GeometryUtils.collectVerticesFromEdges(edges),
-                Vertex[]::new
-        );
     }
 
     /**
@@ -62,12 +58,21 @@ public class Polyline {
 
     /**
      * Returns the array of unique vertices in the polyline, in order of appearance.
+     * The vertices are deduplicated on the first call and kept.
      *
      * @return the vertices of the polyline
      * @precondition none
      * @postcondition Returns a deduplicated, ordered array of vertices
      */
     public Vertex[] getVertices() {
-        return this.vertices;
+        Vertex[] vertices = this.vertices;
+        if (vertices == null) {
+            vertices = GeometryUtils.removeDuplicates(
+                    GeometryUtils.collectVerticesFromEdges(this.edges),
+                    Vertex[]::new
+            );
+            this.vertices = vertices;
+        }
+        return vertices;
     }
 }
@@ -8,7 +8,9 @@ import org.ea.utiltities.GeometryUtils;
 
 /**
  * Represents a triangle in 3D space as a specialized {@link Polygon}.
- * Includes normal vector, area, and perimeter.
+ * Includes normal vector, area, and perimeter. Area and perimeter are either given on
+ * construction, e.g. from the columns of an {@link IndexedMesh}, or computed on first access
+ * and kept, so triangles that are only rendered never compute them.
  *
  * @precondition Requires exactly three edges or three vertices forming a closed triangle.
  * @postcondition Provides access to geometric and structural properties.
@@ -19,6 +21,22 @@ public class Triangle extends Polygon implements Comparable<Triangle> {
     private Double area;
     private Double perimeter;
 
+    /**
+     * Constructs a triangle from edges whose area and perimeter are computed when first read.
+     *
+     * @param edges the triangle's edges
+     * @param normal the normal vector
+     * @throws NotAClosedPolygonException if the polygon is not closed
+     * @throws NotATriangleException if the edge count is not exactly 3
+     * @throws NotEnoughEdgesForAPolygonException if the number of edges is less than 3
+     * @precondition {@code edges.length == 3}, edges form a closed triangle
+     * @postcondition Area and perimeter are not computed yet
+     */
+    public Triangle(Edge3D[] edges, Vector normal)
+            throws NotAClosedPolygonException, NotATriangleException, NotEnoughEdgesForAPolygonException {
+        this(edges, normal, null, null);
+    }
+
     /**
      * Constructs a triangle from edges and geometric metadata.
      *
@@ -62,15 +80,21 @@ public class Triangle extends Polygon implements Comparable<Triangle> {
     }
 
     /**
-     * Returns the area of the triangle.
+     * Returns the area of the triangle, computing it from the edges on the first call.
      *
      * @return surface area
      * @precondition Triangle has valid geometry
-     * @postcondition Area is returned unchanged
+     * @postcondition Area is computed at most once and returned unchanged afterwards
      */
     @Override
     public Double getArea() {
-        return this.area;
+        // Double ist unveränderlich, paralleles Erstberechnen liefert denselben Wert
+        Double area = this.area;
+        if (area == null) {
+            area = GeometryUtils.calculateTriangleArea(this.getEdges());
+            this.area = area;
+        }
+        return area;
     }
 
     /**
@@ -85,15 +109,20 @@ public class Triangle extends Polygon implements Comparable<Triangle> {
     }
 
     /**
-     * Returns the perimeter of the triangle.
+     * Returns the perimeter of the triangle, computing it from the edges on the first call.
      *
      * @return perimeter value
      * @precondition Triangle has valid side lengths
-     * @postcondition Perimeter is returned unchanged
+     * @postcondition Perimeter is computed at most once and returned unchanged afterwards
      */
     @Override
     public Double getPerimeter() {
-        return this.perimeter;
+        Double perimeter = this.perimeter;
+        if (perimeter == null) {
+            perimeter = GeometryUtils.calculatePerimeter(this.getEdges());
+            this.perimeter = perimeter;
+        }
+        return perimeter;
     }
 
     /**
@@ -1,5 +1,7 @@
 package org.ea.model;
 
+import org.ea.utiltities.VectorMath;
+
 /**
  * Represents a 3D vector and provides basic vector operations such as cross product,
  * dot product, length calculation, and angle between two vectors.
@@ -8,28 +10,27 @@ package org.ea.model;
  * @postcondition All vector calculations are consistent with standard 3D vector algebra.
  */
 public interface Vector {
-    int SECOND_POWER = 2;
 
     /**
      * @return X component of the vector
      * @precondition None
      * @postcondition A non-null float is returned representing the x-axis value
      */
-    Float getX();
+    float getX();
 
     /**
      * @return Y component of the vector
      * @precondition None
      * @postcondition A non-null float is returned representing the y-axis value
      */
-    Float getY();
+    float getY();
 
     /**
      * @return Z component of the vector
      * @precondition None
      * @postcondition A non-null float is returned representing the z-axis value
      */
-    Float getZ();
+    float getZ();
 
     /**
      * Computes the cross product between this vector and another.
@@ -49,11 +50,7 @@ public interface Vector {
      * @postcondition Returns a non-negative real number
      */
     default double length() {
-        return Math.sqrt(
-                Math.pow(getX(), SECOND_POWER) +
-                        Math.pow(getY(), SECOND_POWER) +
-                        Math.pow(getZ(), SECOND_POWER)
-        );
+        return VectorMath.length(getX(), getY(), getZ());
     }
 
     /**
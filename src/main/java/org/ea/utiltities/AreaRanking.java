@@ -0,0 +1,209 @@
+package org.ea.utiltities;
+
+import org.ea.model.Triangle;
+
+import java.util.Arrays;
+
+/**
+ * Ranks surfaces by area on a primitive area column instead of sorting objects.
+ * Results are index permutations into the column: a full ascending order from a parallel sort
+ * of packed primitive keys, or only the k smallest or largest entries from a bounded heap in
+ * O(n log k). Equal areas keep the order of their indices, like a stable sort.
+ *
+ * @precondition Areas are non-negative and not NaN
+ * @postcondition The column is never modified
+ */
+public final class AreaRanking {
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private AreaRanking() {
+    }
+
+    /**
+     * Copies the areas of triangles into a primitive column.
+     *
+     * @param surfaces the triangles
+     * @return area of surfaces[i] at index i
+     * @precondition surfaces != null
+     * @postcondition No state is changed
+     */
+    public static double[] areaColumn(Triangle[] surfaces) {
+        double[] areas = new double[surfaces.length];
+        for (int i = 0; i < surfaces.length; i++) {
+            areas[i] = surfaces[i].getArea();
+        }
+        return areas;
+    }
+
+    /**
+     * Returns the indices of the column in ascending order of area.
+     * The area (as float bits, which order like the values for non-negative floats) and the
+     * index are packed into one long and sorted with {@link Arrays#parallelSort(long[])}; runs
+     * of equal float keys are then merge sorted by their exact double value in O(r log r).
+     *
+     * @param areas the area column
+     * @return permutation of the indices, smallest area first
+     * @precondition areas != null
+     * @postcondition areas[order[i]] <= areas[order[i + 1]]
+     */
+    public static int[] sortedOrder(double[] areas) {
+        long[] keys = new long[areas.length];
+        for (int i = 0; i < areas.length; i++) {
+            keys[i] = ((long) Float.floatToIntBits((float) areas[i] + 0.0f) << Integer.SIZE) | i;
+        }
+        Arrays.parallelSort(keys);
+        int[] order = new int[areas.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) (keys[i] & INDEX_MASK);
+        }
+        // Gleitkommarundung: gleiche float-Schlüssel nach dem genauen double-Wert ordnen
+        int[] buffer = null;
+        int runStart = 0;
+        for (int i = 1; i <= keys.length; i++) {
+            if (i == keys.length || (keys[i] >>> Integer.SIZE) != (keys[runStart] >>> Integer.SIZE)) {
+                if (i - runStart > INSERTION_SORT_THRESHOLD) {
+                    if (buffer == null) {
+                        buffer = new int[order.length];
+                    }
+                    mergeSort(areas, order, buffer, runStart, i);
+                } else if (i - runStart > 1) {
+                    insertionSort(areas, order, runStart, i);
+                }
+                runStart = i;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Returns the indices of the k smallest areas.
+     *
+     * @param areas the area column
+     * @param k number of indices to return
+     * @return at most k indices, smallest area first
+     * @precondition areas != null && k >= 0
+     * @postcondition the result equals the first k entries of {@link #sortedOrder(double[])}
+     */
+    public static int[] smallest(double[] areas, int k) {
+        return select(areas, k, false);
+    }
+
+    /**
+     * Returns the indices of the k largest areas.
+     *
+     * @param areas the area column
+     * @param k number of indices to return
+     * @return at most k indices, largest area first
+     * @precondition areas != null && k >= 0
+     * @postcondition equal areas are returned in order of their indices
+     */
+    public static int[] largest(double[] areas, int k) {
+        return select(areas, k, true);
+    }
+
+    /**
+     * Selects the k best ranked indices with a heap whose root is the worst of the kept ones,
+     * then sorts the heap in place.
+     */
+    private static int[] select(double[] areas, int k, boolean descending) {
+        int size = Math.min(Math.max(k, 0), areas.length);
+        int[] heap = new int[size];
+        int filled = 0;
+        for (int i = 0; i < areas.length && size > 0; i++) {
+            if (filled < size) {
+                heap[filled] = i;
+                siftUp(areas, heap, filled++, descending);
+            } else if (before(areas, i, heap[0], descending)) {
+                heap[0] = i;
+                siftDown(areas, heap, 0, size, descending);
+            }
+        }
+        // Heapsort: die schlechteste Stelle wandert jeweils ans Ende
+        for (int end = size - 1; end > 0; end--) {
+            int root = heap[0];
+            heap[0] = heap[end];
+            heap[end] = root;
+            siftDown(areas, heap, 0, end, descending);
+        }
+        return heap;
+    }
+
+    private static void siftUp(double[] areas, int[] heap, int position, boolean descending) {
+        int element = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(areas, heap[parent], element, descending)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = element;
+    }
+
+    private static void siftDown(double[] areas, int[] heap, int position, int size, boolean descending) {
+        int element = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && before(areas, heap[child], heap[child + 1], descending)) {
+                child++;
+            }
+            if (!before(areas, element, heap[child], descending)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = element;
+    }
+
+    /**
+     * Sorts order[from, to) by area and index; short parts are insertion sorted.
+     */
+    private static void mergeSort(double[] areas, int[] order, int[] buffer, int from, int to) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(areas, order, from, to);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(areas, order, buffer, from, middle);
+        mergeSort(areas, order, buffer, middle, to);
+        if (!before(areas, order[middle], order[middle - 1], false)) {
+            return; // beide Hälften liegen schon in Reihenfolge
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && !before(areas, buffer[right], buffer[left], false))) {
+                order[i] = buffer[left++];
+            } else {
+                order[i] = buffer[right++];
+            }
+        }
+    }
+
+    private static void insertionSort(double[] areas, int[] order, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int element = order[i];
+            int j = i - 1;
+            while (j >= from && before(areas, element, order[j], false)) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = element;
+        }
+    }
+
+    /**
+     * Checks whether index a ranks before index b; ties are broken by the smaller index.
+     */
+    private static boolean before(double[] areas, int a, int b, boolean descending) {
+        if (areas[a] != areas[b]) {
+            return descending ? areas[a] > areas[b] : areas[a] < areas[b];
+        }
+        return a < b;
+    }
+}
@@ -0,0 +1,109 @@
+package org.ea.utiltities;
+
+import org.ea.constant.Numbers;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Decodes fixed size binary STL triangle records into preallocated primitive arrays.
+ * Large ranges are split in halves and decoded as independent fork/join tasks,
+ * since every 50-byte record can be decoded without knowing its neighbours.
+ *
+ * @precondition source holds whole triangle records starting at index 0
+ * @postcondition values and attributes are filled for the decoded range
+ */
+@SuppressWarnings("serial") // Tasks werden nie serialisiert
+public class BinaryTriangleDecoder extends RecursiveAction {
+    private final ByteBuffer source;
+    private final int firstTriangle;
+    private final int triangleAmount;
+    private final float[] values;
+    private final short[] attributes;
+    private final int targetTriangle;
+
+    /**
+     * Creates a task decoding a range of records of the given source.
+     *
+     * @param source buffer holding the triangle records
+     * @param firstTriangle index of the first record inside source
+     * @param triangleAmount number of records to decode
+     * @param values target array with 12 floats per triangle
+     * @param attributes target array with one attribute per triangle
+     * @param targetTriangle triangle index in the target arrays the first record is written to
+     * @precondition the source and target ranges are within bounds
+     * @postcondition task is ready to be invoked
+     */
+    public BinaryTriangleDecoder(ByteBuffer source, int firstTriangle, int triangleAmount,
+                                 float[] values, short[] attributes, int targetTriangle) {
+        this.source = source;
+        this.firstTriangle = firstTriangle;
+        this.triangleAmount = triangleAmount;
+        this.values = values;
+        this.attributes = attributes;
+        this.targetTriangle = targetTriangle;
+    }
+
+    /**
+     * Decodes all records of the source on a pool with the given parallelism.
+     *
+     * @param source buffer holding the triangle records
+     * @param triangleAmount number of records to decode
+     * @param values target array with 12 floats per triangle
+     * @param attributes target array with one attribute per triangle
+     * @param targetTriangle triangle index in the target arrays the first record is written to
+     * @param parallelism number of worker threads
+     * @precondition parallelism > 0
+     * @postcondition the target range is filled and the pool is shut down
+     */
+    public static void decode(ByteBuffer source, int triangleAmount, float[] values, short[] attributes,
+                              int targetTriangle, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new BinaryTriangleDecoder(source, 0, triangleAmount, values, attributes, targetTriangle));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Decodes the range directly if it is small enough, otherwise splits it in halves.
+     *
+     * @precondition task was created with a valid range
+     * @postcondition the range is decoded into the target arrays
+     */
+    @Override
+    protected void compute() {
+        if (this.triangleAmount <= Numbers.DECODE_CHUNK_TRIANGLES) {
+            this.decodeRange();
+            return;
+        }
+        int half = this.triangleAmount / 2;
+        invokeAll(
+                new BinaryTriangleDecoder(source, firstTriangle, half, values, attributes, targetTriangle),
+                new BinaryTriangleDecoder(source, firstTriangle + half, triangleAmount - half,
+                        values, attributes, targetTriangle + half));
+    }
+
+    /**
+     * Decodes the range of this task sequentially.
+     *
+     * @precondition the range is within bounds
+     * @postcondition 12 floats and one attribute per record are written
+     */
+    private void decodeRange() {
+        // duplicate() resets the byte order, so it has to be set again for every view
+        ByteBuffer buffer = this.source.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int position = this.firstTriangle * Numbers.TRIANGLE_RECORD_LENGTH;
+        int index = this.targetTriangle * Numbers.FLOATS_PER_TRIANGLE;
+        for (int t = 0; t < this.triangleAmount; t++) {
+            for (int j = 0; j < Numbers.FLOATS_PER_TRIANGLE; j++) {
+                this.values[index++] = buffer.getFloat(position + j * Float.BYTES);
+            }
+            this.attributes[this.targetTriangle + t] = buffer.getShort(position + Numbers.ATTRIBUTE_OFFSET);
+            position += Numbers.TRIANGLE_RECORD_LENGTH;
+        }
+    }
+}
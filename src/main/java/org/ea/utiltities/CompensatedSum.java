@@ -0,0 +1,55 @@
+package org.ea.utiltities;
+
+/**
+ * Running double sum with Neumaier compensation.
+ * The rounding error of every addition is collected in a separate term, so the sum of
+ * millions of small values (e.g. triangle areas) stays accurate regardless of their order.
+ *
+ * @precondition None
+ * @postcondition {@link #getSum()} returns the compensated sum of all added values
+ */
+public class CompensatedSum {
+    private double sum;
+    private double compensation;
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value to add
+     * @precondition value is finite
+     * @postcondition the value is part of the sum
+     */
+    public void add(double value) {
+        double t = this.sum + value;
+        // der kleinere Summand verliert die Stellen, die in t nicht mehr passen
+        if (Math.abs(this.sum) >= Math.abs(value)) {
+            this.compensation += (this.sum - t) + value;
+        } else {
+            this.compensation += (value - t) + this.sum;
+        }
+        this.sum = t;
+    }
+
+    /**
+     * Adds another compensated sum, e.g. the partial sum of another thread.
+     *
+     * @param other the sum to add
+     * @precondition other != null
+     * @postcondition the values of other are part of this sum
+     */
+    public void add(CompensatedSum other) {
+        this.add(other.sum);
+        this.compensation += other.compensation;
+    }
+
+    /**
+     * Returns the compensated sum.
+     *
+     * @return sum of all added values
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    public double getSum() {
+        return this.sum + this.compensation;
+    }
+}
@@ -0,0 +1,126 @@
+package org.ea.utiltities;
+
+import org.ea.constant.Messages;
+import org.ea.constant.Numbers;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Collects visited facets into fixed-size {@link TriangleData} batches and puts every full
+ * batch into a queue. Used by the readers to stream facets into the threaded pipeline with
+ * one queue handoff per batch instead of one per facet; on a bounded queue the reader waits
+ * for the consumer instead of reading ahead.
+ *
+ * @precondition The queue is consumed by another thread
+ * @postcondition Batches are queued in file order, followed by the terminal message from
+ *                {@link #end()} or {@link #fail(Exception)}
+ */
+class FacetBatchWriter implements FacetVisitor {
+    private final BlockingQueue<PipelineMessage<TriangleData>> queue;
+    private final int batchSize;
+    private final Timer timer = new Timer();
+    private float[] values;
+    private short[] attributes;
+    private int batchAmount;
+    private long triangleAmount;
+    private long sequence;
+
+    /**
+     * Constructs a writer for the given queue.
+     *
+     * @param queue queue to put the batches into
+     * @param batchSize number of facets per batch
+     * @precondition queue != null && batchSize > 0
+     * @postcondition Writer is ready to receive facets
+     */
+    FacetBatchWriter(BlockingQueue<PipelineMessage<TriangleData>> queue, int batchSize) {
+        this.queue = queue;
+        this.batchSize = batchSize;
+        this.newBatch();
+    }
+
+    /**
+     * Starts measuring the throughput of the reading stage.
+     *
+     * @param expectedTriangles expected number of facets, not used
+     * @precondition None
+     * @postcondition The timer is running
+     */
+    @Override
+    public void start(int expectedTriangles) {
+        this.timer.start();
+    }
+
+    /**
+     * Copies the facet into the current batch and queues the batch once it is full.
+     *
+     * @param facet 12 floats (3 normal, 9 vertices)
+     * @param attribute attribute of the facet
+     * @throws CancellationException if the thread is interrupted while waiting for space
+     * @precondition facet.length >= 12
+     * @postcondition The facet is part of the current or a queued batch
+     */
+    @Override
+    public void visit(float[] facet, short attribute) {
+        System.arraycopy(facet, 0, this.values, this.batchAmount * Numbers.FLOATS_PER_TRIANGLE, Numbers.FLOATS_PER_TRIANGLE);
+        this.attributes[this.batchAmount++] = attribute;
+        if (this.batchAmount == this.batchSize) {
+            this.flush();
+            this.newBatch();
+        }
+    }
+
+    /**
+     * Queues the last partial batch and the end message, then logs the throughput.
+     *
+     * @throws CancellationException if the thread is interrupted while waiting for space
+     * @precondition All facets have been visited
+     * @postcondition The consumer is signalled that no more facets follow
+     */
+    void end() {
+        if (this.batchAmount > 0) {
+            this.flush();
+        }
+        this.put(PipelineMessage.end());
+        this.timer.stop();
+        Logger.info(String.format(Messages.STAGE_THROUGHPUT_MESSAGE, "Reader", this.triangleAmount,
+                this.timer.getPerSecond(this.triangleAmount)));
+    }
+
+    /**
+     * Queues a failure message instead of the remaining facets.
+     *
+     * @param cause the error that stopped reading
+     * @precondition No terminal message has been queued yet
+     * @postcondition The consumer is signalled that the stream failed, unless the thread was interrupted
+     */
+    void fail(Exception cause) {
+        try {
+            this.queue.put(PipelineMessage.failure(cause));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush() {
+        this.triangleAmount += this.batchAmount;
+        this.put(PipelineMessage.item(new TriangleData(this.values, this.attributes, this.batchAmount, this.sequence++)));
+    }
+
+    private void newBatch() {
+        // der Consumer behält die alten Arrays, daher immer neue anlegen
+        this.values = new float[this.batchSize * Numbers.FLOATS_PER_TRIANGLE];
+        this.attributes = new short[this.batchSize];
+        this.batchAmount = 0;
+    }
+
+    private void put(PipelineMessage<TriangleData> batch) {
+        try {
+            this.queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.ea.utiltities;
+
+import org.ea.constant.Numbers;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Preallocated single-producer/single-consumer ring buffer of facet slots.
+ * Every slot holds the 12 floats and the attribute of one facet in two primitive arrays, so
+ * passing a facet from the reader to the {@link TriangleFactory} allocates nothing and takes
+ * no lock: the producer publishes a facet by advancing the head sequence, the consumer frees
+ * slots by advancing the tail sequence. Both sides wait according to a {@link WaitStrategy}.
+ *
+ * <p>The producer side is a {@link FacetVisitor}, so a reader can decode straight into the
+ * buffer. Exactly one thread may produce and exactly one thread may consume.</p>
+ *
+ * @precondition capacity > 0
+ * @postcondition Facets are consumed in the order they were produced, followed by the end or a failure
+ */
+public class FacetRingBuffer implements FacetVisitor {
+    // Head und Tail liegen in eigenen Cache-Lines, damit Producer und Consumer sich nicht stören
+    private static final int PADDING = 16;
+    private static final int HEAD = PADDING - 1;
+    private static final int TAIL = 2 * PADDING - 1;
+
+    private final float[] values;
+    private final short[] attributes;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final AtomicLongArray sequences = new AtomicLongArray(3 * PADDING);
+    private long cachedTail;
+    private long producerWaitNanos;
+    private long consumerWaitNanos;
+    private volatile boolean ended;
+    private volatile Throwable failure;
+
+    /**
+     * Constructs a ring buffer.
+     *
+     * @param capacity minimum number of facet slots, rounded up to a power of two
+     * @param waitStrategy how producer and consumer wait for each other
+     * @precondition capacity > 0 && waitStrategy != null
+     * @postcondition All slots are allocated and empty
+     */
+    public FacetRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        int slots = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1);
+        this.values = new float[slots * Numbers.FLOATS_PER_TRIANGLE];
+        this.attributes = new short[slots];
+        this.mask = slots - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Producer: copies a facet into the next slot and publishes it, waiting while the buffer is full.
+     *
+     * @param facet 12 floats (3 normal, 9 vertices)
+     * @param attribute attribute of the facet
+     * @throws CancellationException if the thread is interrupted while waiting for a free slot
+     * @precondition called by the producer thread only, before {@link #end()}
+     * @postcondition The facet is visible to the consumer
+     */
+    @Override
+    public void visit(float[] facet, short attribute) {
+        long head = this.sequences.getPlain(HEAD);
+        if (head - this.cachedTail > this.mask) {
+            this.awaitFreeSlot(head);
+        }
+        int slot = (int) head & this.mask;
+        System.arraycopy(facet, 0, this.values, slot * Numbers.FLOATS_PER_TRIANGLE, Numbers.FLOATS_PER_TRIANGLE);
+        this.attributes[slot] = attribute;
+        this.sequences.setRelease(HEAD, head + 1);
+    }
+
+    /**
+     * Producer: ends the stream after the last published facet.
+     *
+     * @precondition called by the producer thread once
+     * @postcondition The consumer sees the end after consuming all facets
+     */
+    public void end() {
+        this.ended = true;
+    }
+
+    /**
+     * Producer: ends the stream with a failure.
+     *
+     * @param cause the error that stopped producing
+     * @precondition called by the producer thread once, instead of {@link #end()}
+     * @postcondition The consumer sees the failure after consuming the published facets
+     */
+    public void fail(Throwable cause) {
+        this.failure = cause;
+        this.ended = true;
+    }
+
+    /**
+     * Consumer: waits until the facet with the given sequence is published or the stream ended.
+     *
+     * @param sequence sequence of the next facet to consume
+     * @return exclusive upper bound of the readable sequences; equal to sequence if the stream ended
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @precondition called by the consumer thread only; all sequences below are released
+     * @postcondition All facets from sequence up to the returned bound may be read
+     */
+    public long await(long sequence) throws InterruptedException {
+        long head = this.sequences.getAcquire(HEAD);
+        if (head > sequence) {
+            return head;
+        }
+        long start = System.nanoTime();
+        try {
+            for (int attempt = 0; ; attempt++) {
+                boolean wasEnded = this.ended;
+                head = this.sequences.getAcquire(HEAD);
+                if (head > sequence || wasEnded) {
+                    return head;
+                }
+                this.waitStrategy.idle(attempt);
+            }
+        } finally {
+            this.consumerWaitNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Consumer: frees all slots below the given sequence for the producer.
+     *
+     * @param sequence exclusive upper bound of the consumed sequences
+     * @precondition called by the consumer thread only
+     * @postcondition The slots can be overwritten by the producer
+     */
+    public void release(long sequence) {
+        this.sequences.setRelease(TAIL, sequence);
+    }
+
+    /**
+     * Returns the index of the first float of a facet in {@link #getValues()}.
+     *
+     * @param sequence sequence of the facet
+     * @return offset of the facet's normal x
+     * @precondition the facet is published and not released
+     * @postcondition No state is changed
+     */
+    public int offset(long sequence) {
+        return ((int) sequence & this.mask) * Numbers.FLOATS_PER_TRIANGLE;
+    }
+
+    /**
+     * @return slot array with 12 floats per slot
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public float[] getValues() {
+        return this.values;
+    }
+
+    /**
+     * @return slot array with one attribute per slot
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public short[] getAttributes() {
+        return this.attributes;
+    }
+
+    /**
+     * @return the failure the stream ended with, null if it ended normally or is still running
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    public Throwable getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * @return time the producer waited for free slots, in milliseconds
+     * @precondition the producer has finished
+     * @postcondition Value is non-negative
+     */
+    public double getProducerWaitMillis() {
+        return this.producerWaitNanos / 1e6;
+    }
+
+    /**
+     * @return time the consumer waited for facets, in milliseconds
+     * @precondition the consumer has finished
+     * @postcondition Value is non-negative
+     */
+    public double getConsumerWaitMillis() {
+        return this.consumerWaitNanos / 1e6;
+    }
+
+    private void awaitFreeSlot(long head) {
+        long start = System.nanoTime();
+        try {
+            for (int attempt = 0; ; attempt++) {
+                this.cachedTail = this.sequences.getAcquire(TAIL);
+                if (head - this.cachedTail <= this.mask) {
+                    return;
+                }
+                this.waitStrategy.idle(attempt);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException(e.getMessage());
+        } finally {
+            this.producerWaitNanos += System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.ea.utiltities;
+
+/**
+ * Receives the facets of an STL file one by one while it is decoded.
+ * Allows consumers to build their final data structures without an intermediate copy
+ * of the whole file.
+ *
+ * @precondition Readers call {@link #start(int)} once before the first facet
+ * @postcondition Every facet of the file is passed to {@link #visit(float[], short)} in file order
+ */
+public interface FacetVisitor {
+
+    /**
+     * Called once before the first facet.
+     *
+     * @param expectedTriangles exact triangle count for binary files, an estimate for ASCII files
+     * @precondition expectedTriangles >= 0
+     * @postcondition visitor may preallocate its storage
+     */
+    default void start(int expectedTriangles) {
+    }
+
+    /**
+     * Called for every facet of the file.
+     *
+     * @param facet 12 floats (3 normal, 9 vertices); the array is reused for the next facet
+     * @param attribute attribute value of the facet, 0 for ASCII files
+     * @precondition facet.length >= 12
+     * @postcondition the visitor must not keep a reference to facet
+     */
+    void visit(float[] facet, short attribute);
+}
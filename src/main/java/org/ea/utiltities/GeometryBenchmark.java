@@ -0,0 +1,82 @@
+package org.ea.utiltities;
+
+import org.ea.constant.Arguments;
+import org.ea.constant.Messages;
+import org.ea.constant.Numbers;
+import org.ea.exceptions.STLReaderException;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Compares the per-facet geometry of {@link TriangleFactory} and {@link PolyhedronFactory}
+ * with the scalar and SIMD {@link GeometryKernels} on one STL file.
+ * Every variant computes the areas and the volume of all facets; the SIMD variant is only run
+ * when the JVM is started with {@code --add-modules jdk.incubator.vector}.
+ *
+ * <pre>java --add-modules jdk.incubator.vector -cp target/classes org.ea.utiltities.GeometryBenchmark model.stl</pre>
+ *
+ * @precondition The first argument is the path to a readable STL file
+ * @postcondition The average time per run of every variant is logged
+ */
+public final class GeometryBenchmark {
+
+    private GeometryBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args path to the STL file
+     * @precondition args.length >= 1
+     * @postcondition The results are logged
+     */
+    public static void main(String[] args) {
+        TriangleData triangleData;
+        try (STLReader reader = new STLFileReaderSelector().selectReader(new File(args[Arguments.FILE_NAME_ARGUMENT]))) {
+            triangleData = reader.readPrimitiveTriangleData();
+        } catch (STLReaderException | IOException e) {
+            Logger.error(e.getMessage());
+            System.exit(Arguments.EXIT_ERROR);
+            return;
+        }
+
+        TriangleFactory triangleFactory = new TriangleFactory();
+        PolyhedronFactory polyhedronFactory = new PolyhedronFactory();
+        measure("TriangleFactory/PolyhedronFactory", () -> {
+            triangleFactory.buildTriangles(triangleData);
+            polyhedronFactory.calculateVolume(triangleData);
+        });
+
+        GeometryKernels scalar = new ScalarGeometryKernels();
+        measure("Scalar kernels", () -> runKernels(scalar, triangleData));
+
+        GeometryKernels selected = GeometryKernels.select();
+        if (!(selected instanceof ScalarGeometryKernels)) {
+            measure("SIMD kernels", () -> runKernels(selected, triangleData));
+        }
+    }
+
+    private static void runKernels(GeometryKernels kernels, TriangleData triangleData) {
+        TriangleColumns columns = TriangleColumns.of(triangleData);
+        float[] areas = new float[columns.getTriangleAmount()];
+        float[] normals = new float[columns.getTriangleAmount() * 3];
+        kernels.areas(columns, areas);
+        kernels.normals(columns, normals);
+        kernels.volume(columns);
+    }
+
+    private static void measure(String name, Runnable variant) {
+        for (int run = 0; run < Numbers.BENCHMARK_WARMUP_RUNS; run++) {
+            variant.run();
+        }
+        Timer timer = new Timer();
+        timer.start();
+        for (int run = 0; run < Numbers.BENCHMARK_RUNS; run++) {
+            variant.run();
+        }
+        timer.stop();
+        Logger.info(String.format(Messages.BENCHMARK_MESSAGE, name,
+                (double) timer.getElapsedNanos() / Numbers.BENCHMARK_RUNS / 1_000_000));
+    }
+}
@@ -0,0 +1,104 @@
+package org.ea.utiltities;
+
+import org.ea.constant.Messages;
+
+/**
+ * Per-facet geometry over {@link TriangleColumns}: areas, unit normals and the signed volume
+ * terms of the scalar triple product. Implementations fill one output value per triangle, so
+ * the work is independent per facet and can run in SIMD lanes.
+ *
+ * <p>{@link #select()} returns the SIMD implementation based on the incubating Vector API if
+ * the module {@code jdk.incubator.vector} is present in the boot layer (the JVM has to be
+ * started with {@code --add-modules jdk.incubator.vector}), otherwise the scalar one.</p>
+ *
+ * @precondition Output arrays hold at least one value per triangle
+ * @postcondition Outputs of all implementations agree within float precision
+ */
+public interface GeometryKernels {
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Computes the area of every triangle.
+     *
+     * @param triangles the triangles
+     * @param areas receives one area per triangle
+     * @precondition areas.length >= triangles.getTriangleAmount()
+     * @postcondition areas[i] is the area of triangle i
+     */
+    void areas(TriangleColumns triangles, float[] areas);
+
+    /**
+     * Computes the unit normal of every triangle from its corners; degenerate triangles get
+     * a zero normal.
+     *
+     * @param triangles the triangles
+     * @param normals receives 3 floats per triangle
+     * @precondition normals.length >= 3 * triangles.getTriangleAmount()
+     * @postcondition normals[3i..3i + 2] is the normal of triangle i
+     */
+    void normals(TriangleColumns triangles, float[] normals);
+
+    /**
+     * Computes the scalar triple product of the corners of every triangle, six times the signed
+     * volume of the tetrahedron with the origin.
+     *
+     * @param triangles the triangles
+     * @param terms receives one term per triangle
+     * @precondition terms.length >= triangles.getTriangleAmount()
+     * @postcondition terms[i] is the triple product of triangle i
+     */
+    void volumeTerms(TriangleColumns triangles, float[] terms);
+
+    /**
+     * Computes the total area of the triangles.
+     *
+     * @param triangles the triangles
+     * @return sum of all areas
+     * @precondition None
+     * @postcondition Returns a non-negative value
+     */
+    default double area(TriangleColumns triangles) {
+        float[] areas = new float[triangles.getTriangleAmount()];
+        this.areas(triangles, areas);
+        return ParallelSum.sum(0, areas.length, i -> areas[i]);
+    }
+
+    /**
+     * Computes the volume enclosed by the triangles.
+     *
+     * @param triangles the triangles of a closed surface
+     * @return the non-negative volume
+     * @precondition None
+     * @postcondition Returns a non-negative value
+     */
+    default double volume(TriangleColumns triangles) {
+        float[] terms = new float[triangles.getTriangleAmount()];
+        this.volumeTerms(triangles, terms);
+        return Math.abs(ParallelSum.sum(0, terms.length, i -> terms[i]) / 6);
+    }
+
+    /**
+     * Returns the SIMD kernels if the Vector API is available, otherwise the scalar kernels.
+     * The SIMD class is only loaded after the module check, so the JVM never links it
+     * without the module.
+     *
+     * @return the fastest available kernels
+     * @precondition None
+     * @postcondition The choice is logged
+     */
+    static GeometryKernels select() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                GeometryKernels kernels = (GeometryKernels) Class.forName("org.ea.utiltities.SimdGeometryKernels")
+                        .getDeclaredConstructor().newInstance();
+                Logger.info(String.format(Messages.GEOMETRY_KERNELS_MESSAGE, kernels));
+                return kernels;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                Logger.error(e.getMessage());
+            }
+        }
+        GeometryKernels kernels = new ScalarGeometryKernels();
+        Logger.info(String.format(Messages.GEOMETRY_KERNELS_MESSAGE, kernels));
+        return kernels;
+    }
+}
@@ -67,16 +67,49 @@ public interface GeometryUtils {
         return edges;
     }
 
+    /**
+     * Calculates the area of a triangle from its edges using the cross product.
+     * The edge directions are taken from the vertex coordinates, so no vector is allocated.
+     *
+     * @param edges array of exactly 3 edges
+     * @return area of the triangle
+     * @precondition edges != null && edges.length == 3
+     * @postcondition returns a non-negative double representing the area
+     */
+    static double calculateTriangleArea(Edge3D[] edges) {
+        Edge3D first = edges[GeometricConstants.FIRST_EDGE];
+        Edge3D second = edges[GeometricConstants.SECOND_EDGE];
+        double parallelogramArea = VectorMath.crossLength(
+                first.getEnd().getX() - first.getStart().getX(),
+                first.getEnd().getY() - first.getStart().getY(),
+                first.getEnd().getZ() - first.getStart().getZ(),
+                second.getEnd().getX() - second.getStart().getX(),
+                second.getEnd().getY() - second.getStart().getY(),
+                second.getEnd().getZ() - second.getStart().getZ());
+        return parallelogramArea / GeometricConstants.HALF_OF_PARALLELOGRAM;
+    }
+
+    /**
+     * Calculates the perimeter of a polygon as the sum of its edge lengths.
+     *
+     * @param edges the edges of the polygon
+     * @return perimeter of the polygon
+     * @precondition edges != null
+     * @postcondition returns a non-negative double representing the perimeter
+     */
+    static double calculatePerimeter(Edge3D[] edges) {
+        double perimeter = 0;
+        for (Edge3D edge : edges) {
+            Vertex start = edge.getStart();
+            Vertex end = edge.getEnd();
+            perimeter += VectorMath.distance(start.getX(), start.getY(), start.getZ(), end.getX(), end.getY(), end.getZ());
+        }
+        return perimeter;
+    }
+
     static Polyhedron createPolyhedronFromFile(String fileName) {
-        try {
-            return
-                    new PolyhedronFactory()
-                            .buildPolyhedron(
-                                    new TriangleFactory()
-                                            .buildTriangles(
-                                                    new STLFileReaderSelector()
-                                                            .selectReader(new File(fileName))
-                                                            .readTriangleData()));
+        try (STLReader reader = new STLFileReaderSelector().selectReader(new File(fileName))) {
+            return new PolyhedronFactory().buildPolyhedron(reader.readPrimitiveTriangleData());
         } catch (STLReaderException | IOException e) {
             Logger.error(e.getMessage());
             System.exit(Arguments.EXIT_ERROR);
@@ -84,6 +117,16 @@ public interface GeometryUtils {
         return  null;
     }
 
+    static IndexedMesh createMeshFromFile(String fileName) {
+        try (STLReader reader = new STLFileReaderSelector().selectReader(new File(fileName))) {
+            return new STLMeshLoader().load(reader);
+        } catch (STLReaderException | IOException e) {
+            Logger.error(e.getMessage());
+            System.exit(Arguments.EXIT_ERROR);
+        }
+        return null;
+    }
+
 
 
 
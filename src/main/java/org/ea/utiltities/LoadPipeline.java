@@ -0,0 +1,169 @@
+package org.ea.utiltities;
+
+import org.ea.constant.Messages;
+import org.ea.constant.Numbers;
+import org.ea.exceptions.STLReaderException;
+import org.ea.model.Triangle;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Threaded load pipeline of a single STL file.
+ * The pipeline owns its queues and stages: a reader, one or more {@link TriangleFactory}
+ * workers and a {@link PolyhedronFactory} summing up the area. Nothing is shared between
+ * pipelines, so several files can be loaded at the same time in one JVM. Facets travel from
+ * the reader either through a bounded queue of batches or through a {@link FacetRingBuffer}.
+ * The reader stage closes the file once it has passed on all facets.
+ *
+ * @precondition The file is a readable STL file
+ * @postcondition {@link #start(Executor)} returns the area of the file once all stages are done
+ */
+public class LoadPipeline {
+    private final MeasuredBlockingQueue<PipelineMessage<TriangleData>> dataQueue;
+    private final FacetRingBuffer ringBuffer;
+    private final MeasuredBlockingQueue<PipelineMessage<List<Triangle>>> triangleQueue;
+    private final List<Runnable> producers = new ArrayList<>();
+    private final PolyhedronFactory polyhedronFactory;
+
+    /**
+     * Constructs a pipeline with default queue capacity and one triangle worker.
+     *
+     * @param file the STL file to load
+     * @param selector selector creating the reader
+     * @throws STLReaderException if the file is not a valid STL file
+     * @throws IOException if the file cannot be opened or read
+     * @precondition file != null && selector != null
+     * @postcondition The pipeline is ready to start
+     */
+    public LoadPipeline(File file, STLFileReaderSelector selector) throws STLReaderException, IOException {
+        this(file, selector, Numbers.PIPELINE_QUEUE_CAPACITY, 1, false);
+    }
+
+    /**
+     * Constructs a pipeline.
+     *
+     * @param file the STL file to load
+     * @param selector selector creating the reader
+     * @param queueCapacity capacity of both queues in batches
+     * @param workerAmount number of triangle workers
+     * @param ordered true to pass the triangle batches on in file order
+     * @throws STLReaderException if the file is not a valid STL file
+     * @throws IOException if the file cannot be opened or read
+     * @precondition file != null && selector != null && queueCapacity > 0 && workerAmount > 0
+     * @postcondition The pipeline is ready to start
+     */
+    public LoadPipeline(File file, STLFileReaderSelector selector, int queueCapacity, int workerAmount, boolean ordered)
+            throws STLReaderException, IOException {
+        this.dataQueue = new MeasuredBlockingQueue<>(queueCapacity);
+        this.ringBuffer = null;
+        this.triangleQueue = new MeasuredBlockingQueue<>(queueCapacity);
+        STLReader reader = selector.openReader(file, this.dataQueue);
+        try {
+            this.producers.add(reader);
+            if (workerAmount == 1) {
+                this.producers.add(new TriangleFactory(this.dataQueue, this.triangleQueue));
+            } else {
+                this.producers.addAll(new TriangleFactoryGroup(this.dataQueue, this.triangleQueue, workerAmount, ordered, queueCapacity).getWorkers());
+            }
+            this.polyhedronFactory = new PolyhedronFactory(this.triangleQueue);
+        } catch (RuntimeException e) {
+            // ohne gestartete Stufe schließt niemand sonst die Datei
+            reader.closeQuietly();
+            throw e;
+        }
+    }
+
+    /**
+     * Constructs a pipeline passing the facets from the reader to a single triangle worker
+     * through a preallocated {@link FacetRingBuffer} instead of a queue. The reader decodes
+     * straight into the ring slots, so no batch arrays are allocated and no lock is taken.
+     *
+     * @param file the STL file to load
+     * @param selector selector creating the reader
+     * @param ringCapacity number of facet slots of the ring buffer
+     * @param waitStrategy how reader and triangle worker wait for each other
+     * @throws STLReaderException if the file is not a valid STL file
+     * @throws IOException if the file cannot be opened or read
+     * @precondition file != null && selector != null && ringCapacity > 0 && waitStrategy != null
+     * @postcondition The pipeline is ready to start
+     */
+    public LoadPipeline(File file, STLFileReaderSelector selector, int ringCapacity, WaitStrategy waitStrategy)
+            throws STLReaderException, IOException {
+        this.dataQueue = null;
+        this.ringBuffer = new FacetRingBuffer(ringCapacity, waitStrategy);
+        this.triangleQueue = new MeasuredBlockingQueue<>(Numbers.PIPELINE_QUEUE_CAPACITY);
+        STLReader reader = selector.openReader(file, null);
+        FacetRingBuffer ring = this.ringBuffer;
+        try {
+            this.producers.add(() -> {
+                try {
+                    reader.forEachFacet(ring);
+                    ring.end();
+                } catch (STLReaderException | IOException e) {
+                    ring.fail(e);
+                } catch (CancellationException e) {
+                    // Thread wurde unterbrochen; den Verbraucher trotzdem beenden, sonst wartet er ewig im Ring
+                    ring.fail(e);
+                } finally {
+                    reader.closeQuietly();
+                }
+            });
+            this.producers.add(new TriangleFactory(ring, this.triangleQueue));
+            this.polyhedronFactory = new PolyhedronFactory(this.triangleQueue);
+        } catch (RuntimeException e) {
+            reader.closeQuietly();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts all stages on the executor, each as its own task.
+     *
+     * @param executor executor running the stages; must run all stages at the same time
+     * @return future completing with the area, or exceptionally with the failure of a stage
+     * @precondition the pipeline has not been started before
+     * @postcondition all stages are running
+     */
+    public CompletableFuture<Double> start(Executor executor) {
+        CompletableFuture<Double> area = new CompletableFuture<>();
+        for (Runnable producer : this.producers) {
+            executor.execute(producer);
+        }
+        executor.execute(() -> {
+            this.polyhedronFactory.run();
+            if (this.polyhedronFactory.getThreadedFailure() != null) {
+                area.completeExceptionally(this.polyhedronFactory.getThreadedFailure());
+            } else if (Thread.currentThread().isInterrupted()) {
+                area.cancel(false);
+            } else {
+                area.complete(this.polyhedronFactory.getThreadedArea());
+            }
+        });
+        return area;
+    }
+
+    /**
+     * Logs how long each stage was blocked on the queues.
+     * Reader waits for space, the triangle workers wait for data and space, the polyhedron
+     * stage waits for triangles. For the ring buffer the waiting time of its two sides is used.
+     *
+     * @precondition the pipeline has finished
+     * @postcondition one message per stage is logged
+     */
+    public void logBlockedTimes() {
+        double readerBlocked = this.ringBuffer != null
+                ? this.ringBuffer.getProducerWaitMillis() : this.dataQueue.getPutBlockedMillis();
+        double inputBlocked = this.ringBuffer != null
+                ? this.ringBuffer.getConsumerWaitMillis() : this.dataQueue.getTakeBlockedMillis();
+        Logger.info(String.format(Messages.STAGE_BLOCKED_MESSAGE, "Reader", readerBlocked));
+        Logger.info(String.format(Messages.STAGE_BLOCKED_MESSAGE, "TriangleFactory workers",
+                inputBlocked + this.triangleQueue.getPutBlockedMillis()));
+        Logger.info(String.format(Messages.STAGE_BLOCKED_MESSAGE, "PolyhedronFactory", this.triangleQueue.getTakeBlockedMillis()));
+    }
+}
@@ -1,5 +1,6 @@
 package org.ea.utiltities;
 
+import org.ea.constant.Numbers;
 import org.ea.model.Triangle;
 
 import java.time.LocalDateTime;
@@ -136,7 +137,7 @@ public class Logger {
         }
 
         StringBuilder sb = new StringBuilder("First five elements: [");
-        int limit = Math.min(array.length, 5);
+        int limit = Math.min(array.length, Numbers.LOGGED_ELEMENTS_AMOUNT);
         for (int i = 0; i < limit; i++) {
             if (i > 0) sb.append(", ");
             sb.append(array[i]);
@@ -2,6 +2,8 @@ package org.ea.utiltities;
 
 import org.ea.constant.Arguments;
 
+import java.util.concurrent.ThreadFactory;
+
 /**
  * A wrapper class that manages the lifecycle of a thread based on a Runnable target.
  *
@@ -22,8 +24,36 @@ public class ManagedThread<T extends Runnable> {
      * @postcondition The thread is initialized but not started
      */
     public ManagedThread(T target) {
+        this(target, Thread.ofPlatform().factory());
+    }
+
+    /**
+     * Constructs a managed thread with the given target on a thread of the given factory,
+     * e.g. {@code Thread.ofVirtual().factory()} for a virtual thread.
+     *
+     * @param target the runnable target
+     * @param factory factory creating the underlying thread
+     * @precondition {@code target} and {@code factory} must not be null
+     * @postcondition The thread is initialized but not started
+     */
+    public ManagedThread(T target, ThreadFactory factory) {
         this.target = target;
-        this.thread = new Thread(target);
+        this.thread = factory.newThread(target);
+    }
+
+    /**
+     * Constructs a managed thread running the target on a virtual thread.
+     * Virtual threads are cheap to block, so many pipeline stages can wait on their queues
+     * at the same time without one OS thread each.
+     *
+     * @param target the runnable target
+     * @param <T> the type of the Runnable target
+     * @return managed virtual thread, not started
+     * @precondition {@code target} must not be null
+     * @postcondition The thread is initialized but not started
+     */
+    public static <T extends Runnable> ManagedThread<T> ofVirtual(T target) {
+        return new ManagedThread<>(target, Thread.ofVirtual().factory());
     }
 
     /**
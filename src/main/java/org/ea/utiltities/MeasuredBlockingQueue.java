@@ -0,0 +1,93 @@
+package org.ea.utiltities;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded blocking queue that measures how long producers and consumers wait.
+ * A full queue blocks {@link #put(Object)} until the consumer catches up, so a fast producer
+ * cannot pile up the whole file in memory. The time spent blocked in {@link #put(Object)}
+ * and {@link #take()} is summed up separately to show which pipeline stage is waiting.
+ *
+ * @param <E> type of the queued elements
+ * @precondition capacity > 0
+ * @postcondition At most capacity elements are held at any time
+ */
+@SuppressWarnings("serial") // Queues einer Pipeline werden nie serialisiert
+public class MeasuredBlockingQueue<E> extends ArrayBlockingQueue<E> {
+    private final LongAdder putBlockedNanos = new LongAdder();
+    private final LongAdder takeBlockedNanos = new LongAdder();
+
+    /**
+     * Constructs an empty queue with the given capacity.
+     *
+     * @param capacity maximum number of queued elements
+     * @precondition capacity > 0
+     * @postcondition The queue is empty
+     */
+    public MeasuredBlockingQueue(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * Inserts an element, waiting for space if the queue is full.
+     *
+     * @param element the element to insert
+     * @throws InterruptedException if interrupted while waiting
+     * @precondition element != null
+     * @postcondition The element is queued; waiting time is added to the put time
+     */
+    @Override
+    public void put(E element) throws InterruptedException {
+        if (this.offer(element)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            super.put(element);
+        } finally {
+            this.putBlockedNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Retrieves and removes the head, waiting for an element if the queue is empty.
+     *
+     * @return the head of the queue
+     * @throws InterruptedException if interrupted while waiting
+     * @precondition None
+     * @postcondition The head is removed; waiting time is added to the take time
+     */
+    @Override
+    public E take() throws InterruptedException {
+        E element = this.poll();
+        if (element != null) {
+            return element;
+        }
+        long start = System.nanoTime();
+        try {
+            return super.take();
+        } finally {
+            this.takeBlockedNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return total time producers were blocked in put, in milliseconds
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public double getPutBlockedMillis() {
+        return this.putBlockedNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return total time consumers were blocked in take, in milliseconds
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public double getTakeBlockedMillis() {
+        return this.takeBlockedNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
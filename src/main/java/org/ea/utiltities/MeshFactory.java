@@ -2,10 +2,12 @@ package org.ea.utiltities;
 
 import javafx.scene.shape.MeshView;
 import javafx.scene.shape.TriangleMesh;
+import org.ea.constant.Numbers;
+import org.ea.model.IndexedMesh;
 import org.ea.model.Triangle;
 import org.ea.model.Vertex;
 
-import java.util.*;
+import java.util.Objects;
 
 /**
  * Utility class to construct a {@link MeshView} and its underlying {@link TriangleMesh}
@@ -15,6 +17,28 @@ import java.util.*;
  * @postcondition Returns a mesh suitable for rendering in JavaFX.
  */
 public final class MeshFactory {
+    private final float weldTolerance;
+
+    /**
+     * Constructs a factory that welds only vertices with identical coordinates.
+     *
+     * @precondition None
+     * @postcondition Factory is ready to build meshes
+     */
+    public MeshFactory() {
+        this(0f);
+    }
+
+    /**
+     * Constructs a factory that welds vertices closer than the given tolerance.
+     *
+     * @param weldTolerance maximum difference per axis of welded vertices; 0 for exact welding
+     * @precondition weldTolerance >= 0
+     * @postcondition Factory is ready to build meshes
+     */
+    public MeshFactory(float weldTolerance) {
+        this.weldTolerance = weldTolerance;
+    }
 
     /**
      * Public API: Builds and returns a {@link MeshView} from the given triangles.
@@ -28,8 +52,61 @@ public final class MeshFactory {
         return new MeshView(buildTriangleMesh(triangles));
     }
 
+    /**
+     * Builds and returns a {@link MeshView} from primitive triangle data.
+     *
+     * @param triangleData triangle data with 12 floats per triangle
+     * @return a rendered MeshView object
+     * @precondition {@code triangleData} is not null
+     * @postcondition MeshView is created and ready for rendering
+     */
+    public MeshView buildMeshView(TriangleData triangleData) {
+        return new MeshView(buildTriangleMesh(triangleData));
+    }
+
+    /**
+     * Builds and returns a {@link MeshView} from an {@link IndexedMesh}.
+     *
+     * @param indexedMesh the mesh to render
+     * @return a rendered MeshView object
+     * @precondition {@code indexedMesh} is not null
+     * @postcondition MeshView is created and ready for rendering
+     */
+    public MeshView buildMeshView(IndexedMesh indexedMesh) {
+        return new MeshView(buildTriangleMesh(indexedMesh));
+    }
+
+    /**
+     * Builds a {@link TriangleMesh} from an {@link IndexedMesh}.
+     * The coordinates are used as points directly; the indices are expanded to the
+     * JavaFX face layout with a dummy texture index.
+     *
+     * @param indexedMesh the mesh to render
+     * @return a TriangleMesh containing points and faces
+     * @precondition {@code indexedMesh} is not null
+     * @postcondition A TriangleMesh is initialized with all vertices and faces of the mesh
+     */
+    public TriangleMesh buildTriangleMesh(IndexedMesh indexedMesh) {
+        Objects.requireNonNull(indexedMesh, "indexedMesh");
+
+        int indexAmount = indexedMesh.getFaceAmount() * 3;
+        int[] indices = indexedMesh.getIndices();
+        int[] faceArray = new int[indexAmount * 2];
+        for (int i = 0; i < indexAmount; i++) {
+            faceArray[i * 2] = indices[i];
+        }
+
+        TriangleMesh mesh = new TriangleMesh();
+        mesh.getPoints().addAll(indexedMesh.getCoordinates(), 0, indexedMesh.getVertexAmount() * 3);
+        mesh.getTexCoords().addAll(0, 0);
+        mesh.getFaces().addAll(faceArray);
+
+        return mesh;
+    }
+
     /**
      * Core method: Builds only the {@link TriangleMesh} without wrapping it in a MeshView.
+     * Equal vertices are welded to one point, within the weld tolerance of this factory.
      *
      * @param triangles array of Triangle objects
      * @return a TriangleMesh containing points and faces
@@ -39,12 +116,11 @@ public final class MeshFactory {
     public TriangleMesh buildTriangleMesh(Triangle[] triangles) {
         Objects.requireNonNull(triangles, "triangles");
 
-        Map<Vertex, Integer> vertexIndex = buildVertexIndex(triangles);
-        float[] pointArray = buildPointArray(vertexIndex.keySet());
-        int[] faceArray = buildFaceArray(triangles, vertexIndex);
+        VertexWelder welder = new VertexWelder(triangles.length, this.weldTolerance);
+        int[] faceArray = buildFaceArray(triangles, welder);
 
         TriangleMesh mesh = new TriangleMesh();
-        mesh.getPoints().addAll(pointArray);
+        mesh.getPoints().addAll(welder.getCoordinates(), 0, welder.getVertexAmount() * 3);
         mesh.getTexCoords().addAll(0, 0);
         mesh.getFaces().addAll(faceArray);
 
@@ -52,68 +128,56 @@ public final class MeshFactory {
     }
 
     /**
-     * Builds an ordered vertex-to-index map to avoid duplicate vertex storage.
+     * Builds a {@link TriangleMesh} straight from primitive triangle data.
+     * Points are copied per face without sharing, so no vertex objects are created.
      *
-     * @param triangles array of Triangle objects
-     * @return a LinkedHashMap of vertices to their assigned index
-     * @precondition {@code triangles} is not null and contains valid vertices
-     * @postcondition Map contains unique vertices mapped to indices
+     * @param triangleData triangle data with 12 floats per triangle
+     * @return a TriangleMesh containing points and faces
+     * @precondition {@code triangleData} is not null
+     * @postcondition A TriangleMesh is initialized with three points per face
      */
-    private static Map<Vertex, Integer> buildVertexIndex(Triangle[] triangles) {
-        Map<Vertex, Integer> indexMap = new LinkedHashMap<>();
-        int nextIndex = 0;
+    public TriangleMesh buildTriangleMesh(TriangleData triangleData) {
+        Objects.requireNonNull(triangleData, "triangleData");
 
-        for (Triangle t : triangles) {
-            for (Vertex v : t.getVertices()) {
-                if (!indexMap.containsKey(v)) {
-                    indexMap.put(v, nextIndex++);
-                }
+        int triangleAmount = triangleData.getTriangleAmount();
+        float[] values = triangleData.getValues();
+        float[] pointArray = new float[triangleAmount * 9];
+        int[] faceArray = new int[triangleAmount * 6];
+        for (int t = 0; t < triangleAmount; t++) {
+            System.arraycopy(values, t * Numbers.FLOATS_PER_TRIANGLE + 3, pointArray, t * 9, 9);
+            for (int v = 0; v < 3; v++) {
+                faceArray[t * 6 + v * 2] = t * 3 + v;
             }
         }
-        return indexMap;
-    }
 
-    /**
-     * Converts the vertex collection into a float array as required by JavaFX.
-     *
-     * @param vertices collection of unique vertices
-     * @return array of floats in the order x, y, z, x, y, z...
-     * @precondition {@code vertices} must be a non-null collection
-     * @postcondition Float array of coordinates is returned, preserving order
-     */
-    private static float[] buildPointArray(Collection<Vertex> vertices) {
-        float[] points = new float[vertices.size() * 3];
-        int i = 0;
-        for (Vertex v : vertices) {
-            points[i++] = v.getX();
-            points[i++] = v.getY();
-            points[i++] = v.getZ();
-        }
-        return points;
+        TriangleMesh mesh = new TriangleMesh();
+        mesh.getPoints().addAll(pointArray);
+        mesh.getTexCoords().addAll(0, 0);
+        mesh.getFaces().addAll(faceArray);
+
+        return mesh;
     }
 
     /**
      * Builds the face array for the mesh. Each triangle is represented by 3 vertex indices
-     * and corresponding dummy texture indices.
+     * and corresponding dummy texture indices; the vertices are indexed by the welder.
      *
      * @param triangles array of triangles
-     * @param vertexIndex map of vertices to indices
+     * @param welder welder assigning the vertex indices, filled as a side effect
      * @return array of face indices
-     * @precondition {@code triangles} and {@code vertexIndex} are valid and aligned
+     * @precondition {@code triangles} and {@code welder} are not null
      * @postcondition Returns an array of faces referencing unique vertices
      */
-    private static int[] buildFaceArray(Triangle[] triangles,
-                                        Map<Vertex, Integer> vertexIndex) {
-
+    private static int[] buildFaceArray(Triangle[] triangles, VertexWelder welder) {
         int[] faces = new int[triangles.length * 6];
         int f = 0;
 
         for (Triangle t : triangles) {
             for (Vertex v : t.getVertices()) {
-                faces[f++] = vertexIndex.get(v);
+                faces[f++] = welder.add(v.getX(), v.getY(), v.getZ());
                 faces[f++] = 0;
             }
         }
         return faces;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package org.ea.utiltities;
+
+import org.ea.constant.GeometricConstants;
+import org.ea.model.IndexedMesh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits an {@link IndexedMesh} into its connected bodies.
+ * Faces sharing a vertex belong to the same body; the bodies are found with a
+ * {@link UnionFind} over the vertices and the faces and vertices are then distributed with a
+ * counting sort, so the split takes near-linear time and copies every array exactly once.
+ *
+ * @precondition The vertices of the mesh are welded, so touching faces share vertex indices
+ * @postcondition Every face and every used vertex ends up in exactly one body
+ */
+public class MeshSplitter {
+    private static final int COORDINATES_PER_VERTEX = 3;
+    private static final int INDICES_PER_FACE = GeometricConstants.TRIANGLE_VERTICES_AMOUNT;
+    private static final int NO_BODY = -1;
+
+    /**
+     * Splits the mesh into connected bodies.
+     *
+     * @param mesh the mesh to split
+     * @return one mesh per body, ordered by the first face of the body; the faces of
+     *         a body keep their relative order and their normal; areas and perimeters are
+     *         computed by each body when first requested
+     * @precondition mesh != null
+     * @postcondition the face amounts of all bodies add up to the face amount of the mesh
+     */
+    public List<IndexedMesh> split(IndexedMesh mesh) {
+        int faceAmount = mesh.getFaceAmount();
+        int vertexAmount = mesh.getVertexAmount();
+        int[] indices = mesh.getIndices();
+
+        UnionFind components = new UnionFind(vertexAmount);
+        for (int face = 0; face < faceAmount; face++) {
+            int first = face * INDICES_PER_FACE;
+            components.union(indices[first], indices[first + 1]);
+            components.union(indices[first], indices[first + 2]);
+        }
+        int[] componentIds = components.toComponentIds();
+
+        // nur Komponenten mit Flächen werden zu Körpern, lose Eckpunkte fallen weg
+        int[] bodyOfComponent = new int[components.getComponentAmount()];
+        Arrays.fill(bodyOfComponent, NO_BODY);
+        int bodyAmount = 0;
+        for (int face = 0; face < faceAmount; face++) {
+            int component = componentIds[indices[face * INDICES_PER_FACE]];
+            if (bodyOfComponent[component] == NO_BODY) {
+                bodyOfComponent[component] = bodyAmount++;
+            }
+        }
+        int[] faceCounts = new int[bodyAmount];
+        for (int face = 0; face < faceAmount; face++) {
+            faceCounts[bodyOfComponent[componentIds[indices[face * INDICES_PER_FACE]]]]++;
+        }
+        int[] vertexCounts = new int[bodyAmount];
+        int[] localVertices = new int[vertexAmount];
+        for (int vertex = 0; vertex < vertexAmount; vertex++) {
+            int body = bodyOfComponent[componentIds[vertex]];
+            localVertices[vertex] = body == NO_BODY ? NO_BODY : vertexCounts[body]++;
+        }
+
+        float[][] coordinates = new float[bodyAmount][];
+        int[][] bodyIndices = new int[bodyAmount][];
+        float[][] normals = new float[bodyAmount][];
+        for (int body = 0; body < bodyAmount; body++) {
+            coordinates[body] = new float[vertexCounts[body] * COORDINATES_PER_VERTEX];
+            bodyIndices[body] = new int[faceCounts[body] * INDICES_PER_FACE];
+            normals[body] = new float[faceCounts[body] * COORDINATES_PER_VERTEX];
+        }
+
+        float[] meshCoordinates = mesh.getCoordinates();
+        for (int vertex = 0; vertex < vertexAmount; vertex++) {
+            int body = bodyOfComponent[componentIds[vertex]];
+            if (body != NO_BODY) {
+                System.arraycopy(meshCoordinates, vertex * COORDINATES_PER_VERTEX,
+                        coordinates[body], localVertices[vertex] * COORDINATES_PER_VERTEX, COORDINATES_PER_VERTEX);
+            }
+        }
+        float[] meshNormals = mesh.getNormals();
+        int[] nextFaces = new int[bodyAmount];
+        for (int face = 0; face < faceAmount; face++) {
+            int first = face * INDICES_PER_FACE;
+            int body = bodyOfComponent[componentIds[indices[first]]];
+            int local = nextFaces[body]++;
+            for (int corner = 0; corner < INDICES_PER_FACE; corner++) {
+                bodyIndices[body][local * INDICES_PER_FACE + corner] = localVertices[indices[first + corner]];
+            }
+            System.arraycopy(meshNormals, face * COORDINATES_PER_VERTEX,
+                    normals[body], local * COORDINATES_PER_VERTEX, COORDINATES_PER_VERTEX);
+        }
+
+        List<IndexedMesh> bodies = new ArrayList<>(bodyAmount);
+        for (int body = 0; body < bodyAmount; body++) {
+            bodies.add(new IndexedMesh(coordinates[body], vertexCounts[body], bodyIndices[body],
+                    normals[body], faceCounts[body]));
+        }
+        return bodies;
+    }
+}
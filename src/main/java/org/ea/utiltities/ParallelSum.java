@@ -0,0 +1,72 @@
+package org.ea.utiltities;
+
+import org.ea.constant.Numbers;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Sums one double term per index in parallel on the common fork/join pool.
+ * The index range is split in halves until a part is small enough; every part is summed
+ * with a {@link CompensatedSum} and the partial sums are joined pairwise, so the result is
+ * both fast and numerically stable for meshes with millions of triangles.
+ *
+ * @precondition from <= to
+ * @postcondition {@link #sum(int, int, IntToDoubleFunction)} returns the sum of all terms
+ */
+@SuppressWarnings("serial") // Tasks werden nie serialisiert
+public final class ParallelSum extends RecursiveTask<CompensatedSum> {
+    private final int from;
+    private final int to;
+    private final IntToDoubleFunction term;
+
+    private ParallelSum(int from, int to, IntToDoubleFunction term) {
+        this.from = from;
+        this.to = to;
+        this.term = term;
+    }
+
+    /**
+     * Sums the terms of all indices in [from, to).
+     * Small ranges are summed on the calling thread.
+     *
+     * @param from first index
+     * @param to exclusive end index
+     * @param term function computing the term of an index; called concurrently
+     * @return compensated sum of all terms
+     * @precondition from <= to && term is thread-safe
+     * @postcondition No state is changed
+     */
+    public static double sum(int from, int to, IntToDoubleFunction term) {
+        ParallelSum task = new ParallelSum(from, to, term);
+        if (to - from <= Numbers.REDUCTION_CHUNK) {
+            return task.compute().getSum();
+        }
+        return ForkJoinPool.commonPool().invoke(task).getSum();
+    }
+
+    /**
+     * Sums the range directly or splits it in two halves.
+     *
+     * @return compensated sum of the range
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    @Override
+    protected CompensatedSum compute() {
+        if (this.to - this.from <= Numbers.REDUCTION_CHUNK) {
+            CompensatedSum sum = new CompensatedSum();
+            for (int i = this.from; i < this.to; i++) {
+                sum.add(this.term.applyAsDouble(i));
+            }
+            return sum;
+        }
+        int middle = (this.from + this.to) >>> 1;
+        ParallelSum left = new ParallelSum(this.from, middle, this.term);
+        left.fork();
+        CompensatedSum sum = new ParallelSum(middle, this.to, this.term).compute();
+        sum.add(left.join());
+        return sum;
+    }
+}
@@ -0,0 +1,89 @@
+package org.ea.utiltities;
+
+/**
+ * Message passed through the queues of the threaded load pipeline.
+ * A stream consists of any number of {@link Item}s followed by exactly one terminal message:
+ * {@link End} if the producer completed, or {@link Failure} if it failed. Consumers stop at
+ * the terminal message, so no placeholder data has to be built to mark the end of a stream.
+ *
+ * @param <T> type of the payload
+ * @precondition None
+ * @postcondition Every message is either an item or terminal
+ */
+public sealed interface PipelineMessage<T> permits PipelineMessage.Item, PipelineMessage.End, PipelineMessage.Failure {
+
+    /**
+     * Message carrying one payload of the stream.
+     *
+     * @param payload the payload, not null
+     * @param <T> type of the payload
+     */
+    record Item<T>(T payload) implements PipelineMessage<T> {
+    }
+
+    /**
+     * Terminal message of a completed stream.
+     *
+     * @param <T> type of the payload of the stream
+     */
+    record End<T>() implements PipelineMessage<T> {
+    }
+
+    /**
+     * Terminal message of a failed stream.
+     *
+     * @param cause the error that ended the stream
+     * @param <T> type of the payload of the stream
+     */
+    record Failure<T>(Throwable cause) implements PipelineMessage<T> {
+    }
+
+    /**
+     * Creates an item message.
+     *
+     * @param payload the payload
+     * @param <T> type of the payload
+     * @return message carrying the payload
+     * @precondition payload != null
+     * @postcondition A new item is returned
+     */
+    static <T> PipelineMessage<T> item(T payload) {
+        return new Item<>(payload);
+    }
+
+    /**
+     * Creates the terminal message of a completed stream.
+     *
+     * @param <T> type of the payload of the stream
+     * @return end message
+     * @precondition None
+     * @postcondition A new end message is returned
+     */
+    static <T> PipelineMessage<T> end() {
+        return new End<>();
+    }
+
+    /**
+     * Creates the terminal message of a failed stream.
+     *
+     * @param cause the error that ended the stream
+     * @param <T> type of the payload of the stream
+     * @return failure message
+     * @precondition cause != null
+     * @postcondition A new failure message is returned
+     */
+    static <T> PipelineMessage<T> failure(Throwable cause) {
+        return new Failure<>(cause);
+    }
+
+    /**
+     * Returns whether this message ends the stream.
+     *
+     * @return true for {@link End} and {@link Failure}
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    default boolean isTerminal() {
+        return !(this instanceof Item);
+    }
+}
@@ -3,11 +3,14 @@ package org.ea.utiltities;
 import org.ea.constant.Arguments;
 import org.ea.constant.GeometricConstants;
 import org.ea.constant.Messages;
+import org.ea.constant.Numbers;
 import org.ea.exceptions.GeometryException;
-import org.ea.model.Polygon;
+import org.ea.model.EdgeTopology;
+import org.ea.model.IndexedMesh;
 import org.ea.model.Polyhedron;
 import org.ea.model.Triangle;
-import org.ea.model.Vector;
+import org.ea.model.Vertex;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
@@ -16,8 +19,10 @@ import java.util.concurrent.BlockingQueue;
  */
 public class PolyhedronFactory implements Runnable {
 
-    private BlockingQueue<Triangle> triangleQueue;
+    private BlockingQueue<PipelineMessage<List<Triangle>>> triangleQueue;
     double threadedArea;
+    private Throwable threadedFailure;
+    private boolean eulerValidation;
 
     /**
      * Default constructor.
@@ -28,12 +33,24 @@ public class PolyhedronFactory implements Runnable {
     /**
      * Constructor with triangle queue.
      *
-     * @param triangleQueue the queue to consume triangles from
+     * @param triangleQueue the queue to consume triangle batches from
      */
-    public PolyhedronFactory(BlockingQueue<Triangle> triangleQueue) {
+    public PolyhedronFactory(BlockingQueue<PipelineMessage<List<Triangle>>> triangleQueue) {
         this.triangleQueue = triangleQueue;
     }
 
+    /**
+     * Enables the validation of the Euler characteristic of built polyhedra.
+     * A polyhedron then has to consist of components of genus 0 (V - E + F = 2 each).
+     *
+     * @param eulerValidation true to validate, false (default) to skip the check
+     * @precondition None
+     * @postcondition subsequent buildPolyhedron calls validate accordingly
+     */
+    public void setEulerValidation(boolean eulerValidation) {
+        this.eulerValidation = eulerValidation;
+    }
+
     /**
      * Builds a Polyhedron from an array of triangles.
      *
@@ -48,7 +65,8 @@ public class PolyhedronFactory implements Runnable {
             Timer timer = new Timer();
             timer.start();
             Logger.info(Messages.BUILDING_POLYHEDRON_STARTED);
-            Polyhedron polyhedron = new Polyhedron(triangles, this.calculateArea(triangles), this.calculateVolume(triangles));
+            Polyhedron polyhedron = new Polyhedron(triangles, this.calculateArea(triangles), this.calculateVolume(triangles),
+                    EdgeTopology.of(triangles), this.eulerValidation);
             timer.stop();
             Logger.info(Messages.BUILDING_POLYHEDRON_DONE);
             Logger.info(String.format(Messages.BUILD_TIME_MESSAGE, (double) timer.getElapsedMillis()));
@@ -74,8 +92,91 @@ public class PolyhedronFactory implements Runnable {
         return buildPolyhedron(triangles.toArray(new Triangle[0]));
     }
 
+    /**
+     * Builds a Polyhedron from primitive triangle data.
+     * Area and volume are calculated straight from the float data.
+     *
+     * @param triangleData triangle data with 12 floats per triangle
+     * @return a new Polyhedron instance
+     *
+     * @precondition triangleData != null && triangleData.getTriangleAmount() > 0
+     * @postcondition returns a valid Polyhedron object or terminates the program on failure
+     */
+    public Polyhedron buildPolyhedron(TriangleData triangleData) {
+        Triangle[] triangles = new TriangleFactory().buildTriangles(triangleData).toArray(new Triangle[0]);
+        try {
+            Timer timer = new Timer();
+            timer.start();
+            Logger.info(Messages.BUILDING_POLYHEDRON_STARTED);
+            Polyhedron polyhedron = new Polyhedron(triangles, this.calculateArea(triangleData), this.calculateVolume(triangleData),
+                    EdgeTopology.of(triangles), this.eulerValidation);
+            timer.stop();
+            Logger.info(Messages.BUILDING_POLYHEDRON_DONE);
+            Logger.info(String.format(Messages.BUILD_TIME_MESSAGE, (double) timer.getElapsedMillis()));
+            return polyhedron;
+        } catch (GeometryException e) {
+            Logger.error(e.getMessage());
+            System.exit(Arguments.EXIT_ERROR);
+        }
+        return null;
+    }
+
+    /**
+     * Builds a Polyhedron from an indexed mesh.
+     * The surfaces are views of the mesh faces; area and volume are calculated from its arrays.
+     *
+     * @param mesh the indexed mesh
+     * @return a new Polyhedron instance
+     *
+     * @precondition mesh != null && mesh.getFaceAmount() > 0
+     * @postcondition returns a valid Polyhedron object or terminates the program on failure
+     */
+    public Polyhedron buildPolyhedron(IndexedMesh mesh) {
+        try {
+            Timer timer = new Timer();
+            timer.start();
+            Logger.info(Messages.BUILDING_POLYHEDRON_STARTED);
+            Triangle[] triangles = mesh.asTriangles().toArray(new Triangle[0]);
+            Polyhedron polyhedron = new Polyhedron(triangles, this.calculateArea(mesh), this.calculateVolume(mesh),
+                    EdgeTopology.of(mesh), this.eulerValidation);
+            timer.stop();
+            Logger.info(Messages.BUILDING_POLYHEDRON_DONE);
+            Logger.info(String.format(Messages.BUILD_TIME_MESSAGE, (double) timer.getElapsedMillis()));
+            return polyhedron;
+        } catch (GeometryException | IllegalStateException e) {
+            Logger.error(e.getMessage());
+            System.exit(Arguments.EXIT_ERROR);
+        }
+        return null;
+    }
+
+    /**
+     * Builds one Polyhedron per connected body of an indexed mesh.
+     * Files with several disjoint shells are split by a {@link MeshSplitter}; every body gets
+     * its own area and volume and is checked for closure on its own.
+     *
+     * @param mesh the indexed mesh
+     * @return one polyhedron per body, in order of the first face of each body
+     *
+     * @precondition mesh != null && mesh.getFaceAmount() > 0
+     * @postcondition returns valid Polyhedron objects or terminates the program on failure
+     */
+    public List<Polyhedron> buildPolyhedra(IndexedMesh mesh) {
+        Timer timer = new Timer();
+        timer.start();
+        List<IndexedMesh> bodies = new MeshSplitter().split(mesh);
+        timer.stop();
+        Logger.info(String.format(Messages.BODIES_FOUND_MESSAGE, bodies.size(), (double) timer.getElapsedMillis()));
+        List<Polyhedron> polyhedra = new ArrayList<>(bodies.size());
+        for (IndexedMesh body : bodies) {
+            polyhedra.add(this.buildPolyhedron(body));
+        }
+        return polyhedra;
+    }
+
     /**
      * Calculates the volume enclosed by the given triangle surfaces using scalar triple product.
+     * The signed volumes of the tetrahedra are summed in double on the fork/join pool.
      *
      * @param surfaces array of Triangle surfaces
      * @return the volume of the polyhedron
@@ -84,13 +185,14 @@ public class PolyhedronFactory implements Runnable {
      * @postcondition returns a non-negative volume as double
      */
     public double calculateVolume(Triangle[] surfaces) {
-        float volume = 0f;
-        for (Polygon surface : surfaces) {
-            Vector originA = surface.getVertices()[GeometricConstants.FIRST_EDGE].subtract(GeometricConstants.ORIGIN);
-            Vector originB = surface.getVertices()[GeometricConstants.SECOND_EDGE].subtract(GeometricConstants.ORIGIN);
-            Vector originC = surface.getVertices()[GeometricConstants.THIRD_EDGE].subtract(GeometricConstants.ORIGIN);
-            volume += (float) 1 / 6 * originA.dotProduct(originB.crossProduct(originC));
-        }
+        double volume = ParallelSum.sum(0, surfaces.length, i -> {
+            Vertex[] vertices = surfaces[i].getVertices();
+            Vertex a = vertices[GeometricConstants.FIRST_EDGE];
+            Vertex b = vertices[GeometricConstants.SECOND_EDGE];
+            Vertex c = vertices[GeometricConstants.THIRD_EDGE];
+            return VectorMath.tripleProduct(a.getX(), a.getY(), a.getZ(), b.getX(), b.getY(), b.getZ(),
+                    c.getX(), c.getY(), c.getZ());
+        }) / 6;
         Logger.info("Volume of Polyhedron is:", volume);
         return Math.abs(volume);
     }
@@ -105,10 +207,80 @@ public class PolyhedronFactory implements Runnable {
      * @postcondition returns a non-negative area value
      */
     public double calculateArea(Triangle[] surfaces) {
-        double area = 0;
-        for (Triangle surface : surfaces) {
-            area += surface.getArea();
-        }
+        double area = ParallelSum.sum(0, surfaces.length, i -> surfaces[i].getArea());
+        Logger.info("Area of Polyhedron is:", area);
+        return area;
+    }
+
+    /**
+     * Calculates the enclosed volume from primitive triangle data using the scalar triple product.
+     *
+     * @param triangleData triangle data with 12 floats per triangle
+     * @return the volume of the polyhedron
+     *
+     * @precondition triangleData != null
+     * @postcondition returns a non-negative volume as double
+     */
+    public double calculateVolume(TriangleData triangleData) {
+        float[] v = triangleData.getValues();
+        double volume = ParallelSum.sum(0, triangleData.getTriangleAmount(), t -> {
+            int i = t * Numbers.FLOATS_PER_TRIANGLE;
+            return VectorMath.tripleProduct(v, i + 3, i + 6, i + 9);
+        }) / 6;
+        Logger.info("Volume of Polyhedron is:", volume);
+        return Math.abs(volume);
+    }
+
+    /**
+     * Calculates the total surface area from primitive triangle data.
+     *
+     * @param triangleData triangle data with 12 floats per triangle
+     * @return total area
+     *
+     * @precondition triangleData != null
+     * @postcondition returns a non-negative area value
+     */
+    public double calculateArea(TriangleData triangleData) {
+        float[] v = triangleData.getValues();
+        double area = ParallelSum.sum(0, triangleData.getTriangleAmount(), t -> {
+            int i = t * Numbers.FLOATS_PER_TRIANGLE;
+            return VectorMath.triangleArea(v, i + 3, i + 6, i + 9);
+        });
+        Logger.info("Area of Polyhedron is:", area);
+        return area;
+    }
+
+    /**
+     * Calculates the enclosed volume of an indexed mesh using the scalar triple product.
+     *
+     * @param mesh the indexed mesh
+     * @return the volume of the polyhedron
+     *
+     * @precondition mesh != null
+     * @postcondition returns a non-negative volume as double
+     */
+    public double calculateVolume(IndexedMesh mesh) {
+        float[] c = mesh.getCoordinates();
+        int[] indices = mesh.getIndices();
+        double volume = ParallelSum.sum(0, mesh.getFaceAmount(), f -> {
+            return VectorMath.tripleProduct(c, indices[f * 3] * 3, indices[f * 3 + 1] * 3, indices[f * 3 + 2] * 3);
+        }) / 6;
+        Logger.info("Volume of Polyhedron is:", volume);
+        return Math.abs(volume);
+    }
+
+    /**
+     * Calculates the total surface area of an indexed mesh from its area column.
+     *
+     * @param mesh the indexed mesh
+     * @return total area
+     *
+     * @precondition mesh != null
+     * @postcondition returns a non-negative area value
+     */
+    public double calculateArea(IndexedMesh mesh) {
+        float[] areas = mesh.getAreas();
+        double area = ParallelSum.sum(0, mesh.getFaceAmount(), f -> areas[f]);
         Logger.info("Area of Polyhedron is:", area);
         return area;
     }
@@ -118,26 +290,51 @@ public class PolyhedronFactory implements Runnable {
     }
 
     /**
-     * Runnable method: consumes triangles from a queue and sums their area.
+     * Returns the error that ended the consumed triangle stream.
      *
-     * @precondition triangleQueue != null and must contain triangles ending with poison pill
-     * @postcondition 'area' field is updated with the total area of consumed triangles
+     * @return the failure of the reader or of a triangle worker, null if the stream completed
+     * @precondition {@link #run()} has finished
+     * @postcondition No state is changed
+     */
+    public Throwable getThreadedFailure() {
+        return threadedFailure;
+    }
+
+    /**
+     * Runnable method: consumes triangle batches from a queue and sums their area.
+     *
+     * @precondition triangleQueue != null and its stream ends with a terminal message
+     * @postcondition 'area' field is updated with the total area of consumed triangles,
+     *                or the failure of the stream is available via {@link #getThreadedFailure()}
      */
     @Override
     public void run() {
         if (this.triangleQueue == null) {
             return; // Queue ist null → Abbruch
         }
-        double area = 0;
+        Timer timer = new Timer();
+        timer.start();
+        long triangleAmount = 0;
+        CompensatedSum area = new CompensatedSum();
         try {
-            Triangle triangle = this.triangleQueue.take(); // Ein Element holen
-            while (triangle.getArea() != null) {
-                area += triangle.getArea();
-                triangle = this.triangleQueue.take();
+            PipelineMessage<List<Triangle>> message = this.triangleQueue.take(); // Einen Block holen
+            while (message instanceof PipelineMessage.Item<List<Triangle>> item) {
+                for (Triangle triangle : item.payload()) {
+                    area.add(triangle.getArea());
+                }
+                triangleAmount += item.payload().size();
+                message = this.triangleQueue.take();
+            }
+            if (message instanceof PipelineMessage.Failure<List<Triangle>> failure) {
+                this.threadedFailure = failure.cause();
+            } else {
+                this.threadedArea = area.getSum();
             }
-            this.threadedArea = area;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Interrupt-Flag setzen
         }
+        timer.stop();
+        Logger.info(String.format(Messages.STAGE_THROUGHPUT_MESSAGE, "PolyhedronFactory", triangleAmount,
+                timer.getPerSecond(triangleAmount)));
     }
 }
@@ -1,20 +1,31 @@
 package org.ea.utiltities;
 
 import org.ea.constant.Messages;
+import org.ea.constant.Numbers;
 import org.ea.exceptions.ExceptionMessages;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Reader for ASCII STL files.
  * Implements Runnable to read triangle data asynchronously.
  */
 public class STLAsciiReader extends BufferedReader implements STLReader {
-    private BlockingQueue<List<Float>> dataQueue;
+    private final FileChannel channel;
+    private BlockingQueue<PipelineMessage<TriangleData>> dataQueue;
+    private int parallelism = Numbers.SEQUENTIAL;
+    private int batchSize = Numbers.PIPELINE_BATCH_SIZE;
 
     /**
      * Constructor that validates the file extension.
@@ -27,25 +38,63 @@ public class STLAsciiReader extends BufferedReader implements STLReader {
      * @postcondition object constructed or exception thrown
      */
     public STLAsciiReader(File file) throws FileNotFoundException {
-        super(new FileReader(file));
-        if (isNotSTLFile(file.getName())) throw new RuntimeException(ExceptionMessages.NOT_A_STL_FILE);
+        this(file, new FileInputStream(file).getChannel(), null);
     }
 
     /**
      * Constructor with a data queue for asynchronously passing triangle data.
      *
      * @param file the ASCII STL file to read
-     * @param dataQueue queue to push triangle float data lists
+     * @param dataQueue queue to push triangle data batches
      * @throws FileNotFoundException if file not found
      *
      * @precondition file != null && file.exists() && dataQueue != null
      * @postcondition object constructed and ready to read
      */
-    public STLAsciiReader(File file, BlockingQueue<List<Float>> dataQueue) throws FileNotFoundException {
-        this(file);
+    public STLAsciiReader(File file, BlockingQueue<PipelineMessage<TriangleData>> dataQueue) throws FileNotFoundException {
+        this(file, new FileInputStream(file).getChannel(), dataQueue);
+    }
+
+    /**
+     * Constructor reading from an already opened channel of the file.
+     *
+     * @param file the ASCII STL file to read
+     * @param channel open channel of the file, owned by this reader from now on
+     * @param dataQueue queue to push triangle data batches, may be null
+     * @throws RuntimeException if file is not STL
+     *
+     * @precondition file != null && channel is open
+     * @postcondition object constructed and ready to read
+     */
+    public STLAsciiReader(File file, FileChannel channel, BlockingQueue<PipelineMessage<TriangleData>> dataQueue) {
+        super(Channels.newReader(channel, StandardCharsets.US_ASCII));
+        if (isNotSTLFile(file.getName())) throw new RuntimeException(ExceptionMessages.NOT_A_STL_FILE);
+        this.channel = channel;
         this.dataQueue = dataQueue;
     }
 
+    /**
+     * Sets the number of threads used by {@link #readPrimitiveTriangleData()}.
+     *
+     * @param parallelism number of parsing threads, 1 streams the file on the calling thread
+     * @precondition parallelism > 0
+     * @postcondition following reads parse with the given parallelism
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the number of facets per batch that {@link #run()} puts into the queue.
+     *
+     * @param batchSize number of facets per batch
+     * @precondition batchSize > 0
+     * @postcondition following runs queue batches of the given size
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     /**
      * Reads the header line of the ASCII STL file and splits it by whitespace.
      *
@@ -63,65 +112,141 @@ public class STLAsciiReader extends BufferedReader implements STLReader {
 
     /**
      * Reads all triangle data as floats from the ASCII STL file.
-     * Parses lines starting with "vertex" or "facet normal" and extracts floats.
-     * Adds each triangle's float list to the queue if dataQueue is set.
      *
      * @return list of all floats for all triangles
+     * @throws IOException if reading fails
      *
      * @precondition file readable and formatted as ASCII STL
-     * @postcondition all triangle data read and optionally pushed to queue
+     * @postcondition all triangle data read
      */
     @SuppressWarnings("unchecked")
     @Override
-    public List<Float> readTriangleData() {
+    public List<Float> readTriangleData() throws IOException {
+        TriangleData triangleData = this.readPrimitiveTriangleData();
+        float[] values = triangleData.getValues();
+
+        List<Float> allFloats = new ArrayList<>(triangleData.getFloatAmount());
+        for (int i = 0; i < triangleData.getFloatAmount(); i++) {
+            allFloats.add(values[i]);
+        }
+        return allFloats;
+    }
+
+    /**
+     * Reads all triangle data into primitive arrays.
+     * The file is streamed through a {@link STLAsciiTokenizer}, so no line strings are created.
+     * With a parallelism above 1 the file is split at facet boundaries and the parts are
+     * parsed concurrently. ASCII files carry no attributes, so all attributes are 0.
+     *
+     * @return triangle data with 12 floats and one attribute per triangle
+     * @throws IOException if reading fails
+     *
+     * @precondition file readable and formatted as ASCII STL
+     * @postcondition all triangles are returned in file order and the throughput is logged
+     */
+    @Override
+    public TriangleData readPrimitiveTriangleData() throws IOException {
         Timer timer = new Timer();
-        List<Float> allFloats = new ArrayList<>();
-        List<String> lines = this.lines().toList();
+        timer.start();
+        TriangleData triangleData;
+        long bytesRead;
+        if (this.parallelism > Numbers.SEQUENTIAL) {
+            triangleData = this.readFacetsParallel(this.channel);
+            bytesRead = this.channel.size();
+        } else {
+            STLAsciiTokenizer tokenizer = new STLAsciiTokenizer(this.channel.position(Numbers.FILE_START), Numbers.ASCII_BUFFER_SIZE);
+            triangleData = tokenizer.readFacets();
+            bytesRead = tokenizer.getBytesRead();
+        }
+        timer.stop();
+        Logger.info(Messages.SUCCESSFUL_READ);
+        Logger.info(String.format(Messages.FLOAT_COUNT_MESSAGE, triangleData.getFloatAmount()));
+        Logger.info(String.format(Messages.READ_TIME_MESSAGE, (double) timer.getElapsedMillis()));
+        Logger.info(String.format(Messages.THROUGHPUT_MESSAGE, timer.getMegabytesPerSecond(bytesRead)));
+        return triangleData;
+    }
 
-        List<Float> currentTriangle = new ArrayList<>(12); // 12 Floats pro Dreieck
-        final int FLOATS_PER_TRIANGLE = 12;
+    /**
+     * Streams the file through a {@link STLAsciiTokenizer} and passes every facet to the visitor.
+     * The expected triangle count is estimated from the file size.
+     *
+     * @param visitor receives every facet in file order
+     * @throws IOException if reading fails
+     *
+     * @precondition file readable and formatted as ASCII STL
+     * @postcondition visitor has seen every complete facet of the file
+     */
+    @Override
+    public void forEachFacet(FacetVisitor visitor) throws IOException {
+        visitor.start((int) Math.min(Integer.MAX_VALUE, this.channel.size() / Numbers.ASCII_BYTES_PER_FACET));
+        new STLAsciiTokenizer(this.channel.position(Numbers.FILE_START), Numbers.ASCII_BUFFER_SIZE).readFacets(visitor);
+    }
 
-        for (String line : lines) {
-            line = line.trim().toLowerCase();
-            if (line.startsWith("vertex") || line.startsWith("facet normal")) {
-                String[] parts = line.split("\\s+");
-                for (int i = 1; i < parts.length; i++) {
-                    try {
-                        float value = Float.parseFloat(parts[i]);
-                        currentTriangle.add(value);
+    /**
+     * Splits the file into byte ranges starting at facet boundaries, maps every range and
+     * parses the ranges concurrently. The results are joined in range order, so the facet
+     * order of the file is kept.
+     *
+     * @param channel open channel of the file
+     * @return triangle data of all ranges in file order
+     * @throws IOException if reading or mapping fails
+     *
+     * @precondition parallelism > 1
+     * @postcondition all complete facets of the file are returned
+     */
+    private TriangleData readFacetsParallel(FileChannel channel) throws IOException {
+        long size = channel.size();
+        // enough ranges to keep every mapping below 2 GB
+        int parts = (int) Math.max(this.parallelism, size / Integer.MAX_VALUE + 1);
+        long[] bounds = new long[parts + 1];
+        bounds[parts] = size;
+        for (int i = 1; i < parts; i++) {
+            bounds[i] = Math.max(bounds[i - 1], STLAsciiTokenizer.findFacetStart(channel, size / parts * i));
+        }
 
-                        // Wenn genug Werte für ein Dreieck gesammelt wurden
-                        if (currentTriangle.size() == FLOATS_PER_TRIANGLE) {
-                            allFloats.addAll(currentTriangle);
-                            if (this.dataQueue != null) {
-                                dataQueue.add(new ArrayList<>(currentTriangle));
-                            }
-                            currentTriangle.clear();
-                        }
-                    } catch (NumberFormatException e) {
-                        // Ignoriere ungültige Einträge
-                    }
-                }
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            List<Future<TriangleData>> results = new ArrayList<>(parts);
+            for (int i = 0; i < parts; i++) {
+                ByteBuffer range = channel.map(FileChannel.MapMode.READ_ONLY, bounds[i], bounds[i + 1] - bounds[i]);
+                results.add(pool.submit(() -> new STLAsciiTokenizer(range).readFacets()));
+            }
+            List<TriangleData> rangeData = new ArrayList<>(parts);
+            for (Future<TriangleData> result : results) {
+                rangeData.add(result.get());
             }
+            return TriangleData.concat(rangeData);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdown();
         }
-        Logger.info(Messages.SUCCESSFUL_READ);
-        Logger.info(String.format(Messages.FLOAT_COUNT_MESSAGE, allFloats.size()));
-        timer.stop();
-        Logger.info(String.format(Messages.READ_TIME_MESSAGE, (double) timer.getElapsedMillis()));
-        return allFloats;
     }
 
     /**
-     * Runnable implementation: calls readTriangleData().
+     * Runnable method to stream the triangles into the queue.
+     * Facets are put into the queue in batches as soon as a batch is decoded, so on a bounded
+     * queue the reader only reads ahead as far as the queue capacity allows.
+     * Ends the stream with an end message, or with a failure message if reading fails.
      *
-     * @precondition dataQueue may be set to pass data asynchronously
-     * @postcondition reads all triangle data, optionally pushing to queue
+     * @precondition dataQueue != null
+     * @postcondition all triangle data and a terminal message are added to queue; the file is closed
      */
     @Override
     public void run() {
-        this.readTriangleData();
-        List<Float> end = new ArrayList<>();
-        end.add(null);
-        this.dataQueue.add(end);
+        FacetBatchWriter writer = new FacetBatchWriter(this.dataQueue, this.batchSize);
+        try {
+            this.forEachFacet(writer);
+            writer.end();
+        } catch (IOException e) {
+            writer.fail(e);
+        } catch (CancellationException e) {
+            // Thread wurde unterbrochen, Interrupt-Flag ist bereits gesetzt
+        } finally {
+            this.closeQuietly();
+        }
     }
 }
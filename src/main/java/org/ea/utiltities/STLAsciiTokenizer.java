@@ -0,0 +1,383 @@
+package org.ea.utiltities;
+
+import org.ea.constant.Numbers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits ASCII STL content into whitespace separated tokens directly on a byte buffer.
+ * Tokens are never turned into strings; keywords are compared byte by byte and numbers are
+ * parsed by a hand written float parser. If a channel is given, the buffer is refilled from it
+ * while tokenizing, so files of any size are streamed through a fixed size buffer.
+ *
+ * @precondition the content is ASCII encoded
+ * @postcondition facets are read in file order
+ */
+public class STLAsciiTokenizer {
+    private static final byte[] FACET = "facet".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NORMAL = "normal".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] VERTEX = "vertex".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_MANTISSA_DIGITS = 18;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer;
+    private int tokenStart;
+    private int tokenEnd;
+    private long bytesRead;
+    private boolean endOfInput;
+
+    /**
+     * Creates a tokenizer streaming from a channel through a buffer of the given size.
+     *
+     * @param channel the channel to read from
+     * @param bufferSize initial size of the read buffer in bytes
+     * @precondition channel is open and bufferSize > 0
+     * @postcondition tokenizer is positioned before the first token
+     */
+    public STLAsciiTokenizer(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize).flip();
+    }
+
+    /**
+     * Creates a tokenizer over the remaining bytes of a buffer, e.g. a mapped file region.
+     *
+     * @param content the bytes to tokenize
+     * @precondition content != null
+     * @postcondition tokenizer is positioned before the first token
+     */
+    public STLAsciiTokenizer(ByteBuffer content) {
+        this.channel = null;
+        this.buffer = content.slice();
+        this.endOfInput = true;
+    }
+
+    /**
+     * Returns the number of bytes consumed from the channel or buffer so far.
+     *
+     * @return number of bytes
+     * @precondition None
+     * @postcondition value is non-negative
+     */
+    public long getBytesRead() {
+        return this.endOfInput && this.channel == null ? this.buffer.position() : this.bytesRead;
+    }
+
+    /**
+     * Reads all facets of the content into primitive triangle data.
+     *
+     * @return triangle data with 12 floats per facet and attributes set to 0
+     * @throws IOException if reading from the channel fails
+     * @precondition tokenizer has not been used before
+     * @postcondition all complete facets are returned in order
+     */
+    public TriangleData readFacets() throws IOException {
+        FacetCollector collector = new FacetCollector();
+        this.readFacets(collector);
+        return new TriangleData(collector.values, new short[collector.triangleAmount], collector.triangleAmount);
+    }
+
+    /**
+     * Reads all facets of the content and passes them to the visitor.
+     * After a "normal" or "vertex" keyword the next three numbers are taken; everything
+     * else is skipped, as are values that are not numbers.
+     *
+     * @param visitor receives every complete facet in order
+     * @throws IOException if reading from the channel fails
+     * @precondition tokenizer has not been used before
+     * @postcondition visitor has seen all complete facets
+     */
+    public void readFacets(FacetVisitor visitor) throws IOException {
+        float[] facet = new float[Numbers.FLOATS_PER_TRIANGLE];
+        int floatAmount = 0;
+        while (this.nextToken()) {
+            if (!this.tokenEquals(NORMAL) && !this.tokenEquals(VERTEX)) {
+                continue;
+            }
+            for (int i = 0; i < Numbers.NEXT_THREE && this.nextToken(); i++) {
+                try {
+                    float value = this.parseFloat();
+                    facet[floatAmount++] = value;
+                    if (floatAmount == Numbers.FLOATS_PER_TRIANGLE) {
+                        visitor.visit(facet, (short) 0);
+                        floatAmount = 0;
+                    }
+                } catch (NumberFormatException e) {
+                    // Ignoriere ungültige Einträge
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the first "facet" token starting at or after the given position.
+     * "endfacet" does not match, because only whole tokens are compared.
+     *
+     * @param channel channel of the file to search
+     * @param from position to start searching at
+     * @return offset of the token, or the file size if no facet follows
+     * @throws IOException if reading fails
+     * @precondition 0 <= from <= channel.size()
+     * @postcondition the channel position is unchanged
+     */
+    public static long findFacetStart(FileChannel channel, long from) throws IOException {
+        long size = channel.size();
+        // one byte before the window to see whether the token is preceded by whitespace
+        ByteBuffer window = ByteBuffer.allocate(Numbers.ASCII_SEARCH_WINDOW + FACET.length + 2);
+        for (long start = Math.max(0, from - 1); start < size; start += Numbers.ASCII_SEARCH_WINDOW) {
+            window.clear();
+            while (window.hasRemaining() && channel.read(window, start + window.position()) > 0) {
+                // read until the window is full or the file ends
+            }
+            window.flip();
+            int last = Math.min(window.limit(), Numbers.ASCII_SEARCH_WINDOW + 1);
+            for (int i = 0; i < last; i++) {
+                long position = start + i;
+                if (position < from) {
+                    continue;
+                }
+                boolean tokenStart = position == 0 || (i > 0 && isWhitespace(window.get(i - 1)));
+                if (tokenStart && matchesToken(window, i, FACET)) {
+                    return position;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Checks whether the keyword stands at the given index of the buffer as a whole token.
+     *
+     * @param buffer buffer to look into
+     * @param index index of the first keyword byte
+     * @param keyword lower case ASCII keyword
+     * @return true if the keyword is found and followed by whitespace or the buffer end
+     * @precondition index >= 0
+     * @postcondition buffer is unchanged
+     */
+    private static boolean matchesToken(ByteBuffer buffer, int index, byte[] keyword) {
+        if (index + keyword.length > buffer.limit()) {
+            return false;
+        }
+        for (int k = 0; k < keyword.length; k++) {
+            if ((buffer.get(index + k) | 0x20) != keyword[k]) {
+                return false;
+            }
+        }
+        int after = index + keyword.length;
+        return after == buffer.limit() || isWhitespace(buffer.get(after));
+    }
+
+    /**
+     * Advances to the next whitespace separated token.
+     *
+     * @return false if no token is left
+     * @throws IOException if reading from the channel fails
+     * @precondition None
+     * @postcondition on true the current token spans [tokenStart, tokenEnd) of the buffer
+     */
+    boolean nextToken() throws IOException {
+        while (true) {
+            while (this.buffer.hasRemaining() && isWhitespace(this.buffer.get(this.buffer.position()))) {
+                this.buffer.position(this.buffer.position() + 1);
+            }
+            if (this.buffer.hasRemaining()) {
+                break;
+            }
+            if (!this.refill()) {
+                return false;
+            }
+        }
+        int end = this.buffer.position();
+        while (true) {
+            while (end < this.buffer.limit() && !isWhitespace(this.buffer.get(end))) {
+                end++;
+            }
+            if (end < this.buffer.limit() || this.endOfInput) {
+                break;
+            }
+            // token reaches the end of the buffer: keep it and read more data behind it
+            int consumed = end - this.buffer.position();
+            if (!this.refill()) {
+                end = this.buffer.position() + consumed;
+                break;
+            }
+            end = this.buffer.position() + consumed;
+        }
+        this.tokenStart = this.buffer.position();
+        this.tokenEnd = end;
+        this.buffer.position(end);
+        return true;
+    }
+
+    /**
+     * Moves the unread bytes to the front of the buffer and reads more data behind them.
+     * The buffer is doubled if it is already full with unread bytes.
+     *
+     * @return false if the input is exhausted
+     * @throws IOException if reading from the channel fails
+     * @precondition None
+     * @postcondition the buffer position points to the first unread byte
+     */
+    private boolean refill() throws IOException {
+        if (this.endOfInput) {
+            return false;
+        }
+        this.buffer.compact();
+        if (!this.buffer.hasRemaining()) {
+            ByteBuffer larger = ByteBuffer.allocate(this.buffer.capacity() * 2);
+            this.buffer.flip();
+            larger.put(this.buffer);
+            this.buffer = larger;
+        }
+        int read = this.channel.read(this.buffer);
+        this.buffer.flip();
+        if (read == -1) {
+            this.endOfInput = true;
+            return false;
+        }
+        this.bytesRead += read;
+        return true;
+    }
+
+    /**
+     * Compares the current token case-insensitively with a lower case keyword.
+     *
+     * @param keyword lower case ASCII keyword
+     * @return true if the token equals the keyword
+     * @precondition a token has been read
+     * @postcondition tokenizer state is unchanged
+     */
+    boolean tokenEquals(byte[] keyword) {
+        if (this.tokenEnd - this.tokenStart != keyword.length) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length; i++) {
+            if ((this.buffer.get(this.tokenStart + i) | 0x20) != keyword[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the current token as float without creating a string.
+     * Tokens the fast path cannot handle (e.g. "NaN" or very long mantissas) are passed to
+     * {@link Float#parseFloat(String)}.
+     *
+     * @return the parsed value
+     * @throws NumberFormatException if the token is not a number
+     * @precondition a token has been read
+     * @postcondition tokenizer state is unchanged
+     */
+    float parseFloat() {
+        int i = this.tokenStart;
+        boolean negative = false;
+        byte c = this.buffer.get(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        for (; i < this.tokenEnd && isDigit(c = this.buffer.get(i)); i++) {
+            anyDigit = true;
+            if (digits < MAX_MANTISSA_DIGITS) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) digits++;
+            } else {
+                exponent++;
+            }
+        }
+        if (i < this.tokenEnd && this.buffer.get(i) == '.') {
+            for (i++; i < this.tokenEnd && isDigit(c = this.buffer.get(i)); i++) {
+                anyDigit = true;
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) digits++;
+                    exponent--;
+                }
+            }
+        }
+        if (anyDigit && i < this.tokenEnd && (this.buffer.get(i) | 0x20) == 'e') {
+            int j = i + 1;
+            boolean negativeExponent = false;
+            if (j < this.tokenEnd && (this.buffer.get(j) == '-' || this.buffer.get(j) == '+')) {
+                negativeExponent = this.buffer.get(j) == '-';
+                j++;
+            }
+            int value = 0;
+            int start = j;
+            for (; j < this.tokenEnd && isDigit(c = this.buffer.get(j)) && value < 10_000; j++) {
+                value = value * 10 + (c - '0');
+            }
+            if (j > start) {
+                exponent += negativeExponent ? -value : value;
+                i = j;
+            }
+        }
+        if (!anyDigit || i != this.tokenEnd || digits >= MAX_MANTISSA_DIGITS) {
+            return Float.parseFloat(this.tokenAsString());
+        }
+
+        double result = mantissa;
+        if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            result /= POWERS_OF_TEN[-exponent];
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            result *= POWERS_OF_TEN[exponent];
+        } else {
+            return Float.parseFloat(this.tokenAsString());
+        }
+        return (float) (negative ? -result : result);
+    }
+
+    /**
+     * Creates a string of the current token. Only used by the slow path of {@link #parseFloat()}.
+     *
+     * @return the token as string
+     * @precondition a token has been read
+     * @postcondition tokenizer state is unchanged
+     */
+    private String tokenAsString() {
+        byte[] bytes = new byte[this.tokenEnd - this.tokenStart];
+        this.buffer.get(this.tokenStart, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f';
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * Collects visited facets into a growing float array.
+     */
+    private static final class FacetCollector implements FacetVisitor {
+        private float[] values = new float[Numbers.FLOATS_PER_TRIANGLE * Numbers.INITIAL_TRIANGLE_CAPACITY];
+        private int triangleAmount;
+
+        @Override
+        public void visit(float[] facet, short attribute) {
+            int offset = triangleAmount * Numbers.FLOATS_PER_TRIANGLE;
+            if (offset == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            System.arraycopy(facet, 0, values, offset, Numbers.FLOATS_PER_TRIANGLE);
+            triangleAmount++;
+        }
+    }
+}
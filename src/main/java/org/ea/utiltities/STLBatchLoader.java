@@ -0,0 +1,112 @@
+package org.ea.utiltities;
+
+import org.ea.exceptions.STLReaderException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Loads many STL files concurrently through the threaded pipeline and calculates their areas.
+ * Every file gets its own {@link LoadPipeline} with its own queues and stages; the stages run
+ * on a thread per task, by default on virtual threads, so thousands of loads can be in flight
+ * without thousands of OS threads.
+ *
+ * <p>The stages either run on one executor shared by all loads of this loader, or on an
+ * executor created per file that is shut down when the load is done. A failing file completes
+ * its future exceptionally and does not affect the other loads.</p>
+ *
+ * @precondition None
+ * @postcondition Every load returns a future completing with the area of the file
+ */
+public class STLBatchLoader implements AutoCloseable {
+    private final ThreadFactory threadFactory;
+    private final ExecutorService sharedExecutor;
+    private final STLFileReaderSelector selector = new STLFileReaderSelector();
+
+    /**
+     * Constructs a loader running all stages on virtual threads of one shared executor.
+     *
+     * @precondition None
+     * @postcondition The loader is ready to load files
+     */
+    public STLBatchLoader() {
+        this(true, true);
+    }
+
+    /**
+     * Constructs a loader with the given thread kind and executor scope.
+     *
+     * @param virtualThreads true to run the stages on virtual threads, false for platform threads
+     * @param sharedExecutor true to run all loads on one executor, false for one executor per file
+     * @precondition None
+     * @postcondition The loader is ready to load files
+     */
+    public STLBatchLoader(boolean virtualThreads, boolean sharedExecutor) {
+        this.threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("stl-load-", 0).factory()
+                : Thread.ofPlatform().name("stl-load-", 0).factory();
+        this.sharedExecutor = sharedExecutor ? Executors.newThreadPerTaskExecutor(this.threadFactory) : null;
+    }
+
+    /**
+     * Starts loading all files.
+     *
+     * @param files the STL files to load
+     * @return one future per file, in the order of the files, completing with the area
+     * @precondition files != null and the loader is not closed
+     * @postcondition All loads are started
+     */
+    public List<CompletableFuture<Double>> loadAll(List<File> files) {
+        List<CompletableFuture<Double>> areas = new ArrayList<>(files.size());
+        for (File file : files) {
+            areas.add(this.load(file));
+        }
+        return areas;
+    }
+
+    /**
+     * Starts loading one file.
+     *
+     * @param file the STL file to load
+     * @return future completing with the area of the file, or exceptionally if it cannot be read
+     * @precondition file != null and the loader is not closed
+     * @postcondition The stages of the load are running
+     */
+    public CompletableFuture<Double> load(File file) {
+        ExecutorService executor = this.sharedExecutor != null
+                ? this.sharedExecutor
+                : Executors.newThreadPerTaskExecutor(this.threadFactory);
+
+        CompletableFuture<Double> area;
+        try {
+            area = new LoadPipeline(file, this.selector).start(executor);
+        } catch (STLReaderException | IOException e) {
+            area = CompletableFuture.failedFuture(e);
+        }
+
+        if (this.sharedExecutor == null) {
+            // Stufen laufen nach dem Shutdown weiter, es werden nur keine neuen angenommen
+            area.whenComplete((result, failure) -> executor.shutdown());
+        }
+        return area;
+    }
+
+    /**
+     * Shuts the shared executor down after the running loads are done.
+     *
+     * @precondition None
+     * @postcondition No further loads are accepted; running loads have completed
+     */
+    @Override
+    public void close() {
+        if (this.sharedExecutor != null) {
+            this.sharedExecutor.close();
+        }
+    }
+}
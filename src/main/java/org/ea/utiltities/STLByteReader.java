@@ -1,12 +1,12 @@
 package org.ea.utiltities;
 
-import org.ea.constant.Arguments;
 import org.ea.constant.Messages;
 import org.ea.exceptions.EndOfFileReachedException;
 import org.ea.constant.Numbers;
 import org.ea.exceptions.NotAStlFileException;
 import org.ea.exceptions.OffsetOutOfRangeException;
 import java.io.File;
+import java.io.FileDescriptor;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -15,15 +15,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.nio.ByteOrder;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.CancellationException;
 
 /**
  * Reads STL files in binary format and provides the triangle data.
  * Implements Runnable for asynchronous reading.
  */
 public class STLByteReader extends FileInputStream implements STLReader {
-    private BlockingQueue<List<Float>> dataQueue;
+    private BlockingQueue<PipelineMessage<TriangleData>> dataQueue;
     private static final int TRIANGLE_DATA_SIZE = 50;
+    private int parallelism = Numbers.SEQUENTIAL;
+    private int batchSize = Numbers.PIPELINE_BATCH_SIZE;
 
     /**
      * Constructor that checks if the file is STL format.
@@ -44,19 +46,58 @@ public class STLByteReader extends FileInputStream implements STLReader {
      * Constructor with queue for pushing read triangle data.
      *
      * @param file the STL file
-     * @param dataQueue queue to push triangle float data lists
+     * @param dataQueue queue to push triangle data batches
      * @throws FileNotFoundException if file does not exist
      * @throws NotAStlFileException if file is not a valid STL
      *
      * @precondition file != null && file.exists() && dataQueue != null
      * @postcondition object is constructed and ready to read into queue
      */
-    public STLByteReader(File file, BlockingQueue<List<Float>> dataQueue) throws FileNotFoundException, NotAStlFileException {
+    public STLByteReader(File file, BlockingQueue<PipelineMessage<TriangleData>> dataQueue) throws FileNotFoundException, NotAStlFileException {
         this(file);
         this.dataQueue = dataQueue;
     }
 
+    /**
+     * Constructor reading through an already opened descriptor of the file.
+     *
+     * @param file the STL file
+     * @param descriptor open descriptor of the file, owned by this reader from now on
+     * @param dataQueue queue to push triangle data batches, may be null
+     * @throws NotAStlFileException if file is not a valid STL
+     *
+     * @precondition file != null && descriptor is valid
+     * @postcondition object is constructed and ready to read
+     */
+    public STLByteReader(File file, FileDescriptor descriptor, BlockingQueue<PipelineMessage<TriangleData>> dataQueue) throws NotAStlFileException {
+        super(descriptor);
+        if (isNotSTLFile(file.getName())) throw new NotAStlFileException();
+        this.dataQueue = dataQueue;
+    }
+
+
+
+    /**
+     * Sets the number of threads used to decode the triangle records.
+     *
+     * @param parallelism number of decoding threads, 1 decodes on the calling thread
+     * @precondition parallelism > 0
+     * @postcondition following reads decode with the given parallelism
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
 
+    /**
+     * Sets the number of facets per batch that {@link #run()} puts into the queue.
+     *
+     * @param batchSize number of facets per batch
+     * @precondition batchSize > 0
+     * @postcondition following runs queue batches of the given size
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
 
     /**
      * Reads the header bytes from the STL file.
@@ -100,6 +141,22 @@ public class STLByteReader extends FileInputStream implements STLReader {
             throw new OffsetOutOfRangeException();
         }
         byte[] buffer = new byte[length];
+        this.readFully(buffer, length);
+        return buffer;
+    }
+
+    /**
+     * Reads exactly length bytes from the current position into the buffer.
+     *
+     * @param buffer target array
+     * @param length number of bytes to read
+     * @throws EndOfFileReachedException if file ends before reading length bytes
+     * @throws IOException if IO error occurs
+     *
+     * @precondition buffer.length >= length
+     * @postcondition buffer[0..length) holds the read bytes
+     */
+    private void readFully(byte[] buffer, int length) throws EndOfFileReachedException, IOException {
         int bytesRead = 0;
         while (bytesRead < length) {
             int read = this.read(buffer, bytesRead, length - bytesRead);
@@ -108,7 +165,6 @@ public class STLByteReader extends FileInputStream implements STLReader {
             }
             bytesRead += read;
         }
-        return buffer;
     }
 
     /**
@@ -130,7 +186,6 @@ public class STLByteReader extends FileInputStream implements STLReader {
 
     /**
      * Reads all triangle data as floats from the STL file.
-     * Adds each triangle's float list to the queue if dataQueue is set.
      *
      * @return list of all floats for all triangles
      * @throws IOException if IO error occurs
@@ -138,11 +193,36 @@ public class STLByteReader extends FileInputStream implements STLReader {
      * @throws OffsetOutOfRangeException if offset invalid
      *
      * @precondition file pointer is at start of triangle data
-     * @postcondition all triangle float data read and optionally pushed to queue
+     * @postcondition all triangle float data read
      */
     @SuppressWarnings("unchecked")
     @Override
     public List<Float> readTriangleData() throws IOException, EndOfFileReachedException, OffsetOutOfRangeException {
+        TriangleData triangleData = this.readPrimitiveTriangleData();
+        float[] values = triangleData.getValues();
+
+        List<Float> allTriangles = new ArrayList<>(triangleData.getFloatAmount()); // Gesamtliste aller Dreiecke
+        for (int i = 0; i < triangleData.getFloatAmount(); i++) {
+            allTriangles.add(values[i]);
+        }
+        return allTriangles;
+    }
+
+    /**
+     * Reads all triangle data into primitive arrays.
+     * Floats are decoded directly from the read bytes without boxing. With a parallelism
+     * above 1 the records are decoded in chunks on a fork/join pool.
+     *
+     * @return triangle data with 12 floats and one attribute per triangle
+     * @throws IOException if IO error occurs
+     * @throws EndOfFileReachedException if file ends unexpectedly
+     * @throws OffsetOutOfRangeException if offset invalid
+     *
+     * @precondition file is a binary STL file
+     * @postcondition all triangles are returned in file order
+     */
+    @Override
+    public TriangleData readPrimitiveTriangleData() throws IOException, EndOfFileReachedException, OffsetOutOfRangeException {
         Timer timer = new Timer();
         timer.start();
         int triangleAmount = readAmountOfTriangles();
@@ -154,52 +234,83 @@ public class STLByteReader extends FileInputStream implements STLReader {
         ByteBuffer buffer = ByteBuffer.wrap(triangleData)
                 .order(ByteOrder.LITTLE_ENDIAN);
 
-        List<Float> allTriangles = new ArrayList<>(triangleAmount * 12); // Gesamtliste aller Dreiecke
-        for (int i = 0; i < triangleAmount; i++) {
-            // Neue temporäre Liste für das aktuelle Dreieck
-            List<Float> currentTriangle = new ArrayList<>(12); // 12 Floats pro Dreieck
-
-            // Lese 12 Floats (3 Normale + 9 Eckpunkte)
-            for (int j = 0; j < 12; j++) {
-                currentTriangle.add(buffer.getFloat());
-            }
-
-            // Füge das Dreieck zur Gesamtliste hinzu
-            allTriangles.addAll(currentTriangle);
-
-            // Füge das aktuelle Dreieck separat in die Queue ein
-            if (this.dataQueue != null) {
-                dataQueue.add(new ArrayList<>(currentTriangle)); // Neue Kopie für die Queue
+        float[] values = new float[triangleAmount * Numbers.FLOATS_PER_TRIANGLE];
+        short[] attributes = new short[triangleAmount];
+        if (this.parallelism > Numbers.SEQUENTIAL) {
+            BinaryTriangleDecoder.decode(buffer, triangleAmount, values, attributes, 0, this.parallelism);
+        } else {
+            int index = 0;
+            for (int i = 0; i < triangleAmount; i++) {
+                // Lese 12 Floats (3 Normale + 9 Eckpunkte)
+                for (int j = 0; j < Numbers.FLOATS_PER_TRIANGLE; j++) {
+                    values[index++] = buffer.getFloat();
+                }
+                attributes[i] = buffer.getShort();
             }
-
-            // Überspringe 2 Attribut-Bytes
-            buffer.position(buffer.position() + 2);
         }
         Logger.info(Messages.SUCCESSFUL_READ);
-        Logger.info(String.format(Messages.FLOAT_COUNT_MESSAGE, allTriangles.size()));
+        Logger.info(String.format(Messages.FLOAT_COUNT_MESSAGE, values.length));
         timer.stop();
         Logger.info(String.format(Messages.READ_TIME_MESSAGE, (double) timer.getElapsedMillis()));
 
-        return allTriangles;
+        return new TriangleData(values, attributes, triangleAmount);
+    }
+
+    /**
+     * Decodes the triangle records chunk by chunk and passes them to the visitor.
+     * Only one chunk of records is held in memory at a time.
+     *
+     * @param visitor receives every facet in file order
+     * @throws IOException if IO error occurs
+     * @throws EndOfFileReachedException if file ends unexpectedly
+     * @throws OffsetOutOfRangeException if offset invalid
+     *
+     * @precondition file is a binary STL file
+     * @postcondition visitor has seen every facet of the file
+     */
+    @Override
+    public void forEachFacet(FacetVisitor visitor) throws IOException, EndOfFileReachedException, OffsetOutOfRangeException {
+        int triangleAmount = readAmountOfTriangles();
+        visitor.start(triangleAmount);
+
+        // readAmountOfTriangles leaves the stream at the start of the triangle data
+        byte[] chunk = new byte[Numbers.DECODE_CHUNK_TRIANGLES * TRIANGLE_DATA_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(chunk).order(ByteOrder.LITTLE_ENDIAN);
+        float[] facet = new float[Numbers.FLOATS_PER_TRIANGLE];
+        for (int first = 0; first < triangleAmount; first += Numbers.DECODE_CHUNK_TRIANGLES) {
+            int count = Math.min(Numbers.DECODE_CHUNK_TRIANGLES, triangleAmount - first);
+            this.readFully(chunk, count * TRIANGLE_DATA_SIZE);
+            buffer.clear();
+            for (int i = 0; i < count; i++) {
+                for (int j = 0; j < Numbers.FLOATS_PER_TRIANGLE; j++) {
+                    facet[j] = buffer.getFloat();
+                }
+                visitor.visit(facet, buffer.getShort());
+            }
+        }
     }
 
     /**
-     * Runnable method to read triangles and push them to queue.
-     * Adds a terminating "poison pill" with a list containing null at the end.
+     * Runnable method to stream the triangles into the queue.
+     * Facets are put into the queue in batches as soon as a batch is decoded, so on a bounded
+     * queue the reader only reads ahead as far as the queue capacity allows.
+     * Ends the stream with an end message, or with a failure message if reading fails.
      *
      * @precondition dataQueue != null
-     * @postcondition all triangle data read and poison pill added to queue
+     * @postcondition all triangle data and a terminal message are added to queue; the file is closed
      */
     @Override
     public void run() {
+        FacetBatchWriter writer = new FacetBatchWriter(this.dataQueue, this.batchSize);
         try {
-            this.readTriangleData();
+            this.forEachFacet(writer);
+            writer.end();
         } catch (IOException | EndOfFileReachedException | OffsetOutOfRangeException e) {
-            Logger.error(e.getMessage());
-            System.exit(Arguments.EXIT_ERROR);
+            writer.fail(e);
+        } catch (CancellationException e) {
+            // Thread wurde unterbrochen, Interrupt-Flag ist bereits gesetzt
+        } finally {
+            this.closeQuietly();
         }
-        List<Float> end = new ArrayList<>();
-        end.add(null);
-        this.dataQueue.add(end);
     }
 }
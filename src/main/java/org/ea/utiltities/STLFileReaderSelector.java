@@ -3,11 +3,16 @@ package org.ea.utiltities;
 import org.ea.constant.Arguments;
 import org.ea.constant.GeometricConstants;
 import org.ea.constant.Messages;
+import org.ea.constant.Numbers;
 import org.ea.exceptions.STLReaderException;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.BlockingQueue;
 
 /**
@@ -17,9 +22,62 @@ import java.util.concurrent.BlockingQueue;
  * @postcondition Returns an STLReader appropriate for ASCII or binary STL.
  */
 public class STLFileReaderSelector {
+    private final boolean memoryMapped;
+    private final int parallelism;
+    private final int batchSize;
+
+    /**
+     * Creates a selector that reads binary files with {@link STLByteReader}.
+     *
+     * @precondition None
+     * @postcondition Binary files are read through a file stream
+     */
+    public STLFileReaderSelector() {
+        this(false);
+    }
+
+    /**
+     * Creates a selector with the given binary reading mode.
+     *
+     * @param memoryMapped true to read binary files with {@link STLMappedByteReader}
+     * @precondition None
+     * @postcondition Binary files are read mapped or through a file stream
+     */
+    public STLFileReaderSelector(boolean memoryMapped) {
+        this(memoryMapped, Numbers.SEQUENTIAL);
+    }
+
+    /**
+     * Creates a selector with the given binary reading mode and decoding parallelism.
+     *
+     * @param memoryMapped true to read binary files with {@link STLMappedByteReader}
+     * @param parallelism number of threads readers decode or parse triangle data with
+     * @precondition parallelism > 0
+     * @postcondition Readers are created with the given parallelism
+     */
+    public STLFileReaderSelector(boolean memoryMapped, int parallelism) {
+        this(memoryMapped, parallelism, Numbers.PIPELINE_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a selector with the given binary reading mode, decoding parallelism and batch size.
+     *
+     * @param memoryMapped true to read binary files with {@link STLMappedByteReader}
+     * @param parallelism number of threads readers decode or parse triangle data with
+     * @param batchSize number of facets per batch readers put into the triangle data queue
+     * @precondition parallelism > 0 && batchSize > 0
+     * @postcondition Readers are created with the given parallelism and batch size
+     */
+    public STLFileReaderSelector(boolean memoryMapped, int parallelism, int batchSize) {
+        this.memoryMapped = memoryMapped;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+    }
 
     /**
      * Selects an STLReader instance for the given file, with optional triangle queue.
+     * The file is opened once; the format is detected from a small prefix and the open
+     * file is handed to the chosen reader.
      *
      * @param file              the STL file to read
      * @param triangleDataQueue optional queue for passing triangle data between threads
@@ -27,22 +85,9 @@ public class STLFileReaderSelector {
      * @precondition {@code file} must not be null and must point to a valid STL file
      * @postcondition Returns a reader suitable for the file type; logs type detection result
      */
-    public STLReader selectReader(File file, BlockingQueue<List<Float>> triangleDataQueue) {
+    public STLReader selectReader(File file, BlockingQueue<PipelineMessage<TriangleData>> triangleDataQueue) {
         try {
-            STLReader testReader = new STLAsciiReader(file); // Check header only
-            boolean isAscii = testReader.readHeader().contains(GeometricConstants.SOLID);
-
-            Logger.info(isAscii ? Messages.STARTED_READING_STL_ASCII : Messages.STARTED_READING_STL_BYTE);
-
-            if (isAscii) {
-                return (triangleDataQueue != null)
-                        ? new STLAsciiReader(file, triangleDataQueue)
-                        : new STLAsciiReader(file);
-            } else {
-                return (triangleDataQueue != null)
-                        ? new STLByteReader(file, triangleDataQueue)
-                        : new STLByteReader(file);
-            }
+            return this.openReader(file, triangleDataQueue);
         } catch (STLReaderException | IOException e) {
             Logger.error(e.getMessage());
             System.exit(Arguments.EXIT_ERROR);
@@ -50,6 +95,110 @@ public class STLFileReaderSelector {
         return null;
     }
 
+    /**
+     * Selects an STLReader instance for the given file and reports errors to the caller.
+     * Used where a failing file must not end the application, e.g. for batch loads.
+     *
+     * @param file              the STL file to read
+     * @param triangleDataQueue optional queue for passing triangle data between threads
+     * @return STLReader instance (ASCII or binary)
+     * @throws STLReaderException if the file is not a valid STL file
+     * @throws IOException if the file cannot be opened or read
+     * @precondition {@code file} must not be null
+     * @postcondition Returns a reader owning the opened file, or the file is closed again
+     */
+    public STLReader openReader(File file, BlockingQueue<PipelineMessage<TriangleData>> triangleDataQueue)
+            throws STLReaderException, IOException {
+        FileInputStream stream = null;
+        try {
+            stream = new FileInputStream(file);
+            FileChannel channel = stream.getChannel();
+
+            if (isAscii(channel)) {
+                Logger.info(Messages.STARTED_READING_STL_ASCII);
+                STLAsciiReader reader = new STLAsciiReader(file, channel, triangleDataQueue);
+                reader.setParallelism(this.parallelism);
+                reader.setBatchSize(this.batchSize);
+                return reader;
+            } else if (this.memoryMapped) {
+                Logger.info(Messages.STARTED_READING_STL_MAPPED);
+                STLMappedByteReader reader = new STLMappedByteReader(file, channel, triangleDataQueue);
+                reader.setParallelism(this.parallelism);
+                reader.setBatchSize(this.batchSize);
+                return reader;
+            } else {
+                Logger.info(Messages.STARTED_READING_STL_BYTE);
+                STLByteReader reader = new STLByteReader(file, stream.getFD(), triangleDataQueue);
+                reader.setParallelism(this.parallelism);
+                reader.setBatchSize(this.batchSize);
+                return reader;
+            }
+        } catch (STLReaderException | IOException | RuntimeException e) {
+            closeQuietly(stream);
+            throw e;
+        }
+    }
+
+    /**
+     * Detects whether the file is an ASCII STL file by reading one small prefix.
+     * A file whose size matches the binary layout {@code 84 + 50 * n} for the triangle count
+     * {@code n} of its header is binary, even if its header starts with "solid".
+     *
+     * @param channel open channel of the file
+     * @return true for ASCII, false for binary
+     * @throws IOException if reading fails
+     * @precondition channel is open
+     * @postcondition the channel position is unchanged
+     */
+    public boolean isAscii(FileChannel channel) throws IOException {
+        int prefixLength = Numbers.HEADER_LENGTH + Numbers.TRIANGLE_AMOUNT_LENGTH;
+        ByteBuffer prefix = ByteBuffer.allocate(prefixLength).order(ByteOrder.LITTLE_ENDIAN);
+        while (prefix.hasRemaining() && channel.read(prefix, prefix.position()) > 0) {
+            // read until the prefix is complete or the file ends
+        }
+        prefix.flip();
+
+        if (prefix.limit() == prefixLength) {
+            long triangleAmount = Integer.toUnsignedLong(prefix.getInt(Numbers.HEADER_LENGTH));
+            if (prefixLength + triangleAmount * Numbers.TRIANGLE_RECORD_LENGTH == channel.size()) {
+                return false;
+            }
+        }
+
+        int start = 0;
+        while (start < prefix.limit() && Character.isWhitespace(prefix.get(start))) {
+            start++;
+        }
+        byte[] solid = GeometricConstants.SOLID.getBytes(StandardCharsets.US_ASCII);
+        if (prefix.limit() - start < solid.length) {
+            return false;
+        }
+        for (int i = 0; i < solid.length; i++) {
+            if (Character.toLowerCase(prefix.get(start + i)) != solid[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes the stream, ignoring errors. Used when no reader took over the stream.
+     *
+     * @param stream the stream to close, may be null
+     * @precondition None
+     * @postcondition the stream is closed if it was open
+     */
+    private static void closeQuietly(FileInputStream stream) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.close();
+        } catch (IOException e) {
+            Logger.warning(e.getMessage());
+        }
+    }
+
     /**
      * Convenience overload: selects reader without a queue.
      *
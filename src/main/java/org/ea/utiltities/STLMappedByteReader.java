@@ -0,0 +1,418 @@
+package org.ea.utiltities;
+
+import org.ea.constant.Messages;
+import org.ea.constant.Numbers;
+import org.ea.exceptions.EndOfFileReachedException;
+import org.ea.exceptions.NotAStlFileException;
+import org.ea.exceptions.OffsetOutOfRangeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Reads binary STL files through a memory mapped view of the file.
+ * The triangle section is mapped in windows of whole triangle records, so files larger
+ * than 2 GB can be read without copying the data into intermediate arrays.
+ */
+public class STLMappedByteReader implements STLReader {
+    private final FileChannel channel;
+    private BlockingQueue<PipelineMessage<TriangleData>> dataQueue;
+    private MappedByteBuffer[] windows;
+    private int trianglesPerWindow;
+    private int triangleAmount;
+    private int parallelism = Numbers.SEQUENTIAL;
+    private int batchSize = Numbers.PIPELINE_BATCH_SIZE;
+
+    /**
+     * Constructor that checks if the file is STL format and opens a channel for mapping.
+     *
+     * @param file the STL file
+     * @throws IOException if the file cannot be opened
+     * @throws NotAStlFileException if file is not a valid STL
+     *
+     * @precondition file != null && file.exists()
+     * @postcondition throws NotAStlFileException if invalid STL, else object is constructed
+     */
+    public STLMappedByteReader(File file) throws IOException, NotAStlFileException {
+        this(file, FileChannel.open(file.toPath(), StandardOpenOption.READ), null);
+    }
+
+    /**
+     * Constructor with queue for pushing read triangle data.
+     *
+     * @param file the STL file
+     * @param dataQueue queue to push triangle data batches
+     * @throws IOException if the file cannot be opened
+     * @throws NotAStlFileException if file is not a valid STL
+     *
+     * @precondition file != null && file.exists() && dataQueue != null
+     * @postcondition object is constructed and ready to read into queue
+     */
+    public STLMappedByteReader(File file, BlockingQueue<PipelineMessage<TriangleData>> dataQueue) throws IOException, NotAStlFileException {
+        this(file, FileChannel.open(file.toPath(), StandardOpenOption.READ), dataQueue);
+    }
+
+    /**
+     * Constructor mapping an already opened channel of the file.
+     *
+     * @param file the STL file
+     * @param channel open channel of the file, owned by this reader from now on
+     * @param dataQueue queue to push triangle data batches, may be null
+     * @throws NotAStlFileException if file is not a valid STL
+     *
+     * @precondition file != null && channel is open
+     * @postcondition object is constructed and ready to read
+     */
+    public STLMappedByteReader(File file, FileChannel channel, BlockingQueue<PipelineMessage<TriangleData>> dataQueue) throws NotAStlFileException {
+        if (isNotSTLFile(file.getName())) throw new NotAStlFileException();
+        this.channel = channel;
+        this.dataQueue = dataQueue;
+    }
+
+    /**
+     * Sets the number of threads used by {@link #readPrimitiveTriangleData()}.
+     *
+     * @param parallelism number of decoding threads, 1 decodes on the calling thread
+     * @precondition parallelism > 0
+     * @postcondition following reads decode with the given parallelism
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the number of facets per batch that {@link #run()} puts into the queue.
+     *
+     * @param batchSize number of facets per batch
+     * @precondition batchSize > 0
+     * @postcondition following runs queue batches of the given size
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads the header bytes from the STL file.
+     *
+     * @return list of bytes representing the STL header
+     * @throws EndOfFileReachedException if file ends unexpectedly
+     * @throws IOException if IO error occurs
+     *
+     * @precondition channel is open
+     * @postcondition returns list of HEADER_LENGTH bytes from start of file
+     */
+    @Override
+    public List<Byte> readHeader() throws EndOfFileReachedException, IOException {
+        ByteBuffer header = this.readByteRange(Numbers.FILE_START, Numbers.HEADER_LENGTH);
+        List<Byte> headerList = new ArrayList<>();
+        while (header.hasRemaining()) {
+            headerList.add(header.get());
+        }
+        return headerList;
+    }
+
+    /**
+     * Reads a small byte range with a positional read, leaving the channel position untouched.
+     *
+     * @param offset starting byte offset
+     * @param length number of bytes to read
+     * @return little endian buffer containing the requested bytes
+     * @throws EndOfFileReachedException if file ends before reading length bytes
+     * @throws IOException if IO error occurs
+     *
+     * @precondition offset >= 0 && length > 0
+     * @postcondition returns a flipped buffer of requested length or throws exception
+     */
+    private ByteBuffer readByteRange(long offset, int length) throws EndOfFileReachedException, IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, offset + buffer.position()) == -1) {
+                throw new EndOfFileReachedException();
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Reads the amount of triangles described in the STL file.
+     *
+     * @return number of triangles
+     * @throws EndOfFileReachedException if file ends unexpectedly
+     * @throws IOException if IO error occurs
+     *
+     * @precondition channel is open
+     * @postcondition returns a non-negative integer representing triangle count
+     */
+    public int readAmountOfTriangles() throws EndOfFileReachedException, IOException {
+        return this.readByteRange(Numbers.HEADER_LENGTH, Numbers.TRIANGLE_AMOUNT_LENGTH).getInt();
+    }
+
+    /**
+     * Maps the triangle section of the file into windows of whole triangle records.
+     * Calling this method more than once has no effect.
+     *
+     * @throws EndOfFileReachedException if the file is shorter than the announced triangle section
+     * @throws OffsetOutOfRangeException if the triangle count is negative
+     * @throws IOException if mapping fails
+     *
+     * @precondition channel is open
+     * @postcondition every triangle record is reachable through exactly one window
+     */
+    public void map() throws EndOfFileReachedException, OffsetOutOfRangeException, IOException {
+        if (this.windows != null) {
+            return;
+        }
+        int amount = this.readAmountOfTriangles();
+        if (amount < 0) {
+            throw new OffsetOutOfRangeException();
+        }
+        long dataStart = Numbers.HEADER_LENGTH + Numbers.TRIANGLE_AMOUNT_LENGTH;
+        if (dataStart + (long) amount * Numbers.TRIANGLE_RECORD_LENGTH > this.channel.size()) {
+            throw new EndOfFileReachedException();
+        }
+
+        int perWindow = Integer.MAX_VALUE / Numbers.TRIANGLE_RECORD_LENGTH;
+        int windowCount = (int) ((amount + (long) perWindow - 1) / perWindow);
+        MappedByteBuffer[] mapped = new MappedByteBuffer[windowCount];
+        for (int w = 0; w < windowCount; w++) {
+            long first = (long) w * perWindow;
+            long count = Math.min(perWindow, amount - first);
+            mapped[w] = this.channel.map(
+                    FileChannel.MapMode.READ_ONLY,
+                    dataStart + first * Numbers.TRIANGLE_RECORD_LENGTH,
+                    count * Numbers.TRIANGLE_RECORD_LENGTH);
+            mapped[w].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        this.trianglesPerWindow = perWindow;
+        this.triangleAmount = amount;
+        this.windows = mapped;
+    }
+
+    /**
+     * Checks that the floats of all triangles can be indexed by an int, as for one float array
+     * or a list. Larger files can only be read with {@link #forEachFacet(FacetVisitor)}.
+     *
+     * @throws OffsetOutOfRangeException if the triangles have more floats than Integer.MAX_VALUE
+     * @precondition {@link #map()} has been called
+     * @postcondition triangleAmount * FLOATS_PER_TRIANGLE does not overflow
+     */
+    private void checkFloatArraySize() throws OffsetOutOfRangeException {
+        if (this.triangleAmount > Integer.MAX_VALUE / Numbers.FLOATS_PER_TRIANGLE) {
+            throw new OffsetOutOfRangeException(this.triangleAmount);
+        }
+    }
+
+    /**
+     * Returns the number of mapped triangles.
+     *
+     * @return number of triangles
+     * @precondition {@link #map()} has been called
+     * @postcondition the value is unchanged
+     */
+    public int getTriangleAmount() {
+        return this.triangleAmount;
+    }
+
+    /**
+     * Returns a single float of a triangle record straight from the mapped region.
+     *
+     * @param triangle index of the triangle
+     * @param component index of the float inside the record (0-2 normal, 3-11 vertices)
+     * @return the float value
+     * @precondition {@link #map()} has been called, 0 <= triangle < getTriangleAmount(), 0 <= component < 12
+     * @postcondition no data is copied
+     */
+    public float getFloat(int triangle, int component) {
+        return this.windows[triangle / this.trianglesPerWindow]
+                .getFloat(recordOffset(triangle) + component * Float.BYTES);
+    }
+
+    /**
+     * Returns the attribute byte count stored at the end of a triangle record.
+     *
+     * @param triangle index of the triangle
+     * @return the attribute value
+     * @precondition {@link #map()} has been called, 0 <= triangle < getTriangleAmount()
+     * @postcondition no data is copied
+     */
+    public short getAttribute(int triangle) {
+        return this.windows[triangle / this.trianglesPerWindow]
+                .getShort(recordOffset(triangle) + Numbers.ATTRIBUTE_OFFSET);
+    }
+
+    /**
+     * Copies the 12 floats of one triangle record into the given array.
+     *
+     * @param triangle index of the triangle
+     * @param target array receiving the floats
+     * @param offset first index written in target
+     * @precondition {@link #map()} has been called, target has room for 12 floats at offset
+     * @postcondition target[offset..offset+11] holds normal and vertices of the triangle
+     */
+    public void readTriangle(int triangle, float[] target, int offset) {
+        MappedByteBuffer window = this.windows[triangle / this.trianglesPerWindow];
+        int position = recordOffset(triangle);
+        for (int i = 0; i < Numbers.FLOATS_PER_TRIANGLE; i++) {
+            target[offset + i] = window.getFloat(position + i * Float.BYTES);
+        }
+    }
+
+    /**
+     * Computes the byte offset of a triangle record inside its window.
+     *
+     * @param triangle index of the triangle
+     * @return offset in bytes
+     * @precondition {@link #map()} has been called
+     * @postcondition result is a multiple of the record length
+     */
+    private int recordOffset(int triangle) {
+        return (triangle % this.trianglesPerWindow) * Numbers.TRIANGLE_RECORD_LENGTH;
+    }
+
+    /**
+     * Returns all triangle floats as a read-only list backed by the mapped region.
+     * Values are decoded on access, so no intermediate array or list is built.
+     * This is only a compatibility shim for the boxed {@link STLReader#readTriangleData()} API:
+     * every {@code get} boxes a {@link Float}. Bulk reads should use {@link #forEachFacet(FacetVisitor)}
+     * or {@link #readPrimitiveTriangleData()}, which decode into primitive arrays.
+     *
+     * @return list view of all floats for all triangles
+     * @throws IOException if IO error occurs
+     * @throws EndOfFileReachedException if file ends unexpectedly
+     * @throws OffsetOutOfRangeException if the triangle count is invalid or too large for a list
+     *
+     * @precondition channel is open
+     * @postcondition all triangle float data is reachable
+     */
+    @Override
+    public List<Float> readTriangleData() throws IOException, EndOfFileReachedException, OffsetOutOfRangeException {
+        Timer timer = new Timer();
+        timer.start();
+        this.map();
+        this.checkFloatArraySize();
+        List<Float> view = new AbstractList<>() {
+            @Override
+            public Float get(int index) {
+                return getFloat(index / Numbers.FLOATS_PER_TRIANGLE, index % Numbers.FLOATS_PER_TRIANGLE);
+            }
+
+            @Override
+            public int size() {
+                return triangleAmount * Numbers.FLOATS_PER_TRIANGLE;
+            }
+        };
+
+        Logger.info(Messages.SUCCESSFUL_READ);
+        Logger.info(String.format(Messages.FLOAT_COUNT_MESSAGE, view.size()));
+        timer.stop();
+        Logger.info(String.format(Messages.READ_TIME_MESSAGE, (double) timer.getElapsedMillis()));
+        return view;
+    }
+
+    /**
+     * Copies all triangles from the mapped region into primitive arrays.
+     * With a parallelism above 1 every window is decoded in chunks on a fork/join pool.
+     *
+     * @return triangle data with 12 floats and one attribute per triangle
+     * @throws IOException if IO error occurs
+     * @throws EndOfFileReachedException if file ends unexpectedly
+     * @throws OffsetOutOfRangeException if the triangle count is invalid or too large for one array
+     *
+     * @precondition channel is open
+     * @postcondition all triangles are returned in file order
+     */
+    @Override
+    public TriangleData readPrimitiveTriangleData() throws IOException, EndOfFileReachedException, OffsetOutOfRangeException {
+        Timer timer = new Timer();
+        timer.start();
+        this.map();
+        this.checkFloatArraySize();
+        float[] values = new float[this.triangleAmount * Numbers.FLOATS_PER_TRIANGLE];
+        short[] attributes = new short[this.triangleAmount];
+        if (this.parallelism > Numbers.SEQUENTIAL) {
+            for (int w = 0; w < this.windows.length; w++) {
+                int first = w * this.trianglesPerWindow;
+                int count = Math.min(this.trianglesPerWindow, this.triangleAmount - first);
+                BinaryTriangleDecoder.decode(this.windows[w], count, values, attributes, first, this.parallelism);
+            }
+        } else {
+            for (int i = 0; i < this.triangleAmount; i++) {
+                this.readTriangle(i, values, i * Numbers.FLOATS_PER_TRIANGLE);
+                attributes[i] = this.getAttribute(i);
+            }
+        }
+        Logger.info(Messages.SUCCESSFUL_READ);
+        Logger.info(String.format(Messages.FLOAT_COUNT_MESSAGE, values.length));
+        timer.stop();
+        Logger.info(String.format(Messages.READ_TIME_MESSAGE, (double) timer.getElapsedMillis()));
+        return new TriangleData(values, attributes, this.triangleAmount);
+    }
+
+    /**
+     * Passes every triangle of the mapped region to the visitor.
+     *
+     * @param visitor receives every facet in file order
+     * @throws IOException if IO error occurs
+     * @throws EndOfFileReachedException if file ends unexpectedly
+     * @throws OffsetOutOfRangeException if the triangle count is invalid
+     *
+     * @precondition channel is open
+     * @postcondition visitor has seen every facet of the file
+     */
+    @Override
+    public void forEachFacet(FacetVisitor visitor) throws IOException, EndOfFileReachedException, OffsetOutOfRangeException {
+        this.map();
+        visitor.start(this.triangleAmount);
+        float[] facet = new float[Numbers.FLOATS_PER_TRIANGLE];
+        for (int i = 0; i < this.triangleAmount; i++) {
+            this.readTriangle(i, facet, 0);
+            visitor.visit(facet, this.getAttribute(i));
+        }
+    }
+
+    /**
+     * Closes the underlying channel. Mapped windows stay valid until they are garbage collected.
+     *
+     * @throws IOException if closing fails
+     * @precondition None
+     * @postcondition channel is closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Runnable method to stream the triangles into the queue.
+     * Facets are put into the queue in batches as soon as a batch is decoded, so on a bounded
+     * queue the reader only reads ahead as far as the queue capacity allows.
+     * Ends the stream with an end message, or with a failure message if reading fails.
+     *
+     * @precondition dataQueue != null
+     * @postcondition all triangle data and a terminal message are added to queue; the file is closed
+     */
+    @Override
+    public void run() {
+        FacetBatchWriter writer = new FacetBatchWriter(this.dataQueue, this.batchSize);
+        try {
+            this.forEachFacet(writer);
+            writer.end();
+        } catch (IOException | EndOfFileReachedException | OffsetOutOfRangeException e) {
+            writer.fail(e);
+        } catch (CancellationException e) {
+            // Thread wurde unterbrochen, Interrupt-Flag ist bereits gesetzt
+        } finally {
+            this.closeQuietly();
+        }
+    }
+}
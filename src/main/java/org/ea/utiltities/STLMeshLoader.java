@@ -0,0 +1,126 @@
+package org.ea.utiltities;
+
+import org.ea.constant.GeometricConstants;
+import org.ea.constant.Messages;
+import org.ea.exceptions.EndOfFileReachedException;
+import org.ea.exceptions.OffsetOutOfRangeException;
+import org.ea.model.IndexedMesh;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Loads an STL file straight into an {@link IndexedMesh}.
+ * Facets are decoded and written into the coordinate, index and normal arrays in a single
+ * pass, so no triangle list or {@link org.ea.model.Triangle} objects are built and the peak
+ * memory stays close to the size of the resulting mesh. Areas and perimeters are left to the
+ * mesh, which computes them only when they are asked for. Shared vertices
+ * are welded by a {@link VertexWelder} while loading, so each vertex is stored once.
+ *
+ * @precondition the reader has not been read before
+ * @postcondition {@link #load(STLReader)} returns the complete mesh
+ */
+public class STLMeshLoader implements FacetVisitor {
+    private static final int NORMAL_FLOATS = 3;
+
+    private final float weldTolerance;
+    private VertexWelder welder;
+    private int[] indices = new int[0];
+    private float[] normals = new float[0];
+    private int faceAmount;
+
+    /**
+     * Constructs a loader that welds only vertices with identical coordinates.
+     *
+     * @precondition None
+     * @postcondition Loader is ready to load one file
+     */
+    public STLMeshLoader() {
+        this(0f);
+    }
+
+    /**
+     * Constructs a loader that welds vertices closer than the given tolerance.
+     *
+     * @param weldTolerance maximum difference per axis of welded vertices; 0 for exact welding
+     * @precondition weldTolerance >= 0
+     * @postcondition Loader is ready to load one file
+     */
+    public STLMeshLoader(float weldTolerance) {
+        this.weldTolerance = weldTolerance;
+        this.welder = new VertexWelder(0, weldTolerance);
+    }
+
+    /**
+     * Reads all facets of the reader into mesh arrays.
+     *
+     * @param reader the reader of the STL file
+     * @return mesh holding all faces of the file with welded vertices
+     * @throws IOException if an I/O error occurs
+     * @throws EndOfFileReachedException if the file ends prematurely
+     * @throws OffsetOutOfRangeException if attempting to read beyond bounds
+     * @precondition reader != null
+     * @postcondition the returned mesh has one face per facet of the file
+     */
+    public IndexedMesh load(STLReader reader) throws IOException, EndOfFileReachedException, OffsetOutOfRangeException {
+        Timer timer = new Timer();
+        timer.start();
+        reader.forEachFacet(this);
+        timer.stop();
+        Logger.info(String.format(Messages.BUILT_TRIANGLES, this.faceAmount));
+        Logger.info(String.format(Messages.BUILD_TIME_MESSAGE, (double) timer.getElapsedMillis()));
+        return new IndexedMesh(welder.toCoordinateArray(), welder.getVertexAmount(),
+                indices, normals, faceAmount);
+    }
+
+    /**
+     * Allocates the arrays for the expected number of faces.
+     *
+     * @param expectedTriangles expected number of facets
+     * @precondition expectedTriangles >= 0
+     * @postcondition arrays can hold expectedTriangles faces without growing
+     */
+    @Override
+    public void start(int expectedTriangles) {
+        this.ensureCapacity(Math.max(expectedTriangles, 1));
+        // geschlossene Netze haben etwa halb so viele Eckpunkte wie Dreiecke
+        this.welder = new VertexWelder(expectedTriangles / 2, this.weldTolerance);
+    }
+
+    /**
+     * Writes one facet into all mesh arrays.
+     *
+     * @param facet 12 floats (3 normal, 9 vertices)
+     * @param attribute attribute of the facet, not stored
+     * @precondition {@link #start(int)} has been called
+     * @postcondition the face is appended to the mesh
+     */
+    @Override
+    public void visit(float[] facet, short attribute) {
+        if (this.faceAmount * NORMAL_FLOATS == this.normals.length) {
+            this.ensureCapacity(this.faceAmount * 2);
+        }
+        int face = this.faceAmount++;
+        System.arraycopy(facet, 0, this.normals, face * NORMAL_FLOATS, NORMAL_FLOATS);
+        int first = face * GeometricConstants.TRIANGLE_VERTICES_AMOUNT;
+        for (int corner = 0; corner < GeometricConstants.TRIANGLE_VERTICES_AMOUNT; corner++) {
+            int c = NORMAL_FLOATS + corner * 3;
+            this.indices[first + corner] = this.welder.add(facet[c], facet[c + 1], facet[c + 2]);
+        }
+    }
+
+    /**
+     * Grows all arrays to hold the given number of faces.
+     *
+     * @param faceCapacity number of faces the arrays must hold
+     * @precondition faceCapacity >= faceAmount
+     * @postcondition existing faces are kept
+     */
+    private void ensureCapacity(int faceCapacity) {
+        if (faceCapacity * NORMAL_FLOATS <= this.normals.length) {
+            return;
+        }
+        this.indices = Arrays.copyOf(this.indices, faceCapacity * GeometricConstants.TRIANGLE_VERTICES_AMOUNT);
+        this.normals = Arrays.copyOf(this.normals, faceCapacity * NORMAL_FLOATS);
+    }
+}
@@ -4,17 +4,20 @@ import org.ea.constant.FileExtensions;
 import org.ea.exceptions.EndOfFileReachedException;
 import org.ea.exceptions.OffsetOutOfRangeException;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.List;
 
 /**
  * Represents an abstract STL file reader interface.
  * Implementations can read STL files in different formats (e.g., ASCII, binary).
+ * A reader owns the opened file and has to be closed by whoever holds it; as a pipeline stage
+ * ({@link #run()}) it closes itself once all facets are passed on.
  *
  * @precondition File input stream must be valid and readable.
  * @postcondition Header and triangle data can be extracted or transformed.
  */
-public interface STLReader extends Runnable {
+public interface STLReader extends Runnable, Closeable {
 
     /**
      * Reads the header section of the STL file.
@@ -42,6 +45,47 @@ public interface STLReader extends Runnable {
      */
     <T> List<T> readTriangleData() throws IOException, EndOfFileReachedException, OffsetOutOfRangeException;
 
+    /**
+     * Reads the triangle data from the STL file into primitive arrays.
+     * Unlike {@link #readTriangleData()} no value is boxed and nothing is pushed to a queue.
+     *
+     * @return triangle data with 12 floats and one attribute per triangle
+     * @throws IOException if an I/O error occurs
+     * @throws EndOfFileReachedException if the end of file is reached prematurely
+     * @throws OffsetOutOfRangeException if attempting to read beyond bounds
+     * @precondition File stream must be open and readable
+     * @postcondition All triangles of the file are returned in file order
+     */
+    TriangleData readPrimitiveTriangleData() throws IOException, EndOfFileReachedException, OffsetOutOfRangeException;
+
+    /**
+     * Decodes the facets of the STL file one by one and passes them to the visitor.
+     * Only a small, reused buffer is allocated, so the caller decides what is stored.
+     *
+     * @param visitor receives every facet in file order
+     * @throws IOException if an I/O error occurs
+     * @throws EndOfFileReachedException if the end of file is reached prematurely
+     * @throws OffsetOutOfRangeException if attempting to read beyond bounds
+     * @precondition File stream must be open and readable
+     * @postcondition visitor has been started and has seen every facet of the file
+     */
+    void forEachFacet(FacetVisitor visitor) throws IOException, EndOfFileReachedException, OffsetOutOfRangeException;
+
+    /**
+     * Closes the file of the reader and logs instead of throwing if that fails.
+     * Used where the data has already been read, e.g. at the end of a pipeline stage.
+     *
+     * @precondition None
+     * @postcondition The file of the reader is closed
+     */
+    default void closeQuietly() {
+        try {
+            this.close();
+        } catch (IOException e) {
+            Logger.warning(e.getMessage());
+        }
+    }
+
     /**
      * Checks if the given file name does not end with the STL extension.
      *
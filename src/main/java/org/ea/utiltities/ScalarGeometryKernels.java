@@ -0,0 +1,91 @@
+package org.ea.utiltities;
+
+import org.ea.constant.GeometricConstants;
+
+/**
+ * Scalar {@link GeometryKernels} using {@link VectorMath}, one triangle per iteration.
+ * Also computes the tail of the SIMD kernels that does not fill a whole vector.
+ *
+ * @precondition None
+ * @postcondition Outputs are computed in double and stored as float
+ */
+public class ScalarGeometryKernels implements GeometryKernels {
+
+    @Override
+    public void areas(TriangleColumns triangles, float[] areas) {
+        this.areas(triangles, areas, 0, triangles.getTriangleAmount());
+    }
+
+    @Override
+    public void normals(TriangleColumns triangles, float[] normals) {
+        this.normals(triangles, normals, 0, triangles.getTriangleAmount());
+    }
+
+    @Override
+    public void volumeTerms(TriangleColumns triangles, float[] terms) {
+        this.volumeTerms(triangles, terms, 0, triangles.getTriangleAmount());
+    }
+
+    /**
+     * Computes the areas of the triangles in [from, to).
+     *
+     * @precondition 0 <= from <= to <= triangles.getTriangleAmount()
+     * @postcondition areas[from..to - 1] are set
+     */
+    void areas(TriangleColumns triangles, float[] areas, int from, int to) {
+        float[] v = triangles.getValues();
+        int ax = triangles.offset(0, 0), ay = triangles.offset(0, 1), az = triangles.offset(0, 2);
+        int bx = triangles.offset(1, 0), by = triangles.offset(1, 1), bz = triangles.offset(1, 2);
+        int cx = triangles.offset(2, 0), cy = triangles.offset(2, 1), cz = triangles.offset(2, 2);
+        for (int i = from; i < to; i++) {
+            areas[i] = (float) (VectorMath.crossLength(
+                    v[bx + i] - v[ax + i], v[by + i] - v[ay + i], v[bz + i] - v[az + i],
+                    v[cx + i] - v[ax + i], v[cy + i] - v[ay + i], v[cz + i] - v[az + i]) / GeometricConstants.HALF_OF_PARALLELOGRAM);
+        }
+    }
+
+    /**
+     * Computes the unit normals of the triangles in [from, to).
+     *
+     * @precondition 0 <= from <= to <= triangles.getTriangleAmount()
+     * @postcondition normals[3 * from..3 * to - 1] are set
+     */
+    void normals(TriangleColumns triangles, float[] normals, int from, int to) {
+        float[] v = triangles.getValues();
+        int ax = triangles.offset(0, 0), ay = triangles.offset(0, 1), az = triangles.offset(0, 2);
+        int bx = triangles.offset(1, 0), by = triangles.offset(1, 1), bz = triangles.offset(1, 2);
+        int cx = triangles.offset(2, 0), cy = triangles.offset(2, 1), cz = triangles.offset(2, 2);
+        for (int i = from; i < to; i++) {
+            double ux = v[bx + i] - v[ax + i], uy = v[by + i] - v[ay + i], uz = v[bz + i] - v[az + i];
+            double wx = v[cx + i] - v[ax + i], wy = v[cy + i] - v[ay + i], wz = v[cz + i] - v[az + i];
+            VectorMath.cross(ux, uy, uz, wx, wy, wz, normals, i * 3);
+            double length = VectorMath.length(normals[i * 3], normals[i * 3 + 1], normals[i * 3 + 2]);
+            double inverse = length > 0 ? 1 / length : 0;
+            normals[i * 3] *= (float) inverse;
+            normals[i * 3 + 1] *= (float) inverse;
+            normals[i * 3 + 2] *= (float) inverse;
+        }
+    }
+
+    /**
+     * Computes the triple products of the triangles in [from, to).
+     *
+     * @precondition 0 <= from <= to <= triangles.getTriangleAmount()
+     * @postcondition terms[from..to - 1] are set
+     */
+    void volumeTerms(TriangleColumns triangles, float[] terms, int from, int to) {
+        float[] v = triangles.getValues();
+        int ax = triangles.offset(0, 0), ay = triangles.offset(0, 1), az = triangles.offset(0, 2);
+        int bx = triangles.offset(1, 0), by = triangles.offset(1, 1), bz = triangles.offset(1, 2);
+        int cx = triangles.offset(2, 0), cy = triangles.offset(2, 1), cz = triangles.offset(2, 2);
+        for (int i = from; i < to; i++) {
+            terms[i] = (float) VectorMath.tripleProduct(v[ax + i], v[ay + i], v[az + i],
+                    v[bx + i], v[by + i], v[bz + i], v[cx + i], v[cy + i], v[cz + i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
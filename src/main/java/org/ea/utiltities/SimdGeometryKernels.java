@@ -0,0 +1,118 @@
+package org.ea.utiltities;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.ea.constant.GeometricConstants;
+
+/**
+ * {@link GeometryKernels} on the incubating Vector API.
+ * Each iteration loads the same coordinate of as many triangles as fit into the preferred
+ * vector shape of the CPU and computes their cross products in float lanes; the remaining
+ * triangles are computed by the scalar kernels. Only created by {@link GeometryKernels#select()}
+ * when the module {@code jdk.incubator.vector} is present.
+ *
+ * @precondition The JVM runs with --add-modules jdk.incubator.vector
+ * @postcondition Outputs are computed in float lanes
+ */
+final class SimdGeometryKernels implements GeometryKernels {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private final ScalarGeometryKernels tail = new ScalarGeometryKernels();
+
+    @Override
+    public void areas(TriangleColumns triangles, float[] areas) {
+        float[] v = triangles.getValues();
+        int n = triangles.getTriangleAmount();
+        int ax = triangles.offset(0, 0), ay = triangles.offset(0, 1), az = triangles.offset(0, 2);
+        int bx = triangles.offset(1, 0), by = triangles.offset(1, 1), bz = triangles.offset(1, 2);
+        int cx = triangles.offset(2, 0), cy = triangles.offset(2, 1), cz = triangles.offset(2, 2);
+        int upper = SPECIES.loopBound(n);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            FloatVector x = FloatVector.fromArray(SPECIES, v, ax + i);
+            FloatVector y = FloatVector.fromArray(SPECIES, v, ay + i);
+            FloatVector z = FloatVector.fromArray(SPECIES, v, az + i);
+            FloatVector ux = FloatVector.fromArray(SPECIES, v, bx + i).sub(x);
+            FloatVector uy = FloatVector.fromArray(SPECIES, v, by + i).sub(y);
+            FloatVector uz = FloatVector.fromArray(SPECIES, v, bz + i).sub(z);
+            FloatVector wx = FloatVector.fromArray(SPECIES, v, cx + i).sub(x);
+            FloatVector wy = FloatVector.fromArray(SPECIES, v, cy + i).sub(y);
+            FloatVector wz = FloatVector.fromArray(SPECIES, v, cz + i).sub(z);
+            FloatVector nx = uy.mul(wz).sub(uz.mul(wy));
+            FloatVector ny = uz.mul(wx).sub(ux.mul(wz));
+            FloatVector nz = ux.mul(wy).sub(uy.mul(wx));
+            nx.mul(nx).add(ny.mul(ny)).add(nz.mul(nz)).sqrt()
+                    .div(GeometricConstants.HALF_OF_PARALLELOGRAM)
+                    .intoArray(areas, i);
+        }
+        this.tail.areas(triangles, areas, i, n);
+    }
+
+    @Override
+    public void normals(TriangleColumns triangles, float[] normals) {
+        float[] v = triangles.getValues();
+        int n = triangles.getTriangleAmount();
+        int ax = triangles.offset(0, 0), ay = triangles.offset(0, 1), az = triangles.offset(0, 2);
+        int bx = triangles.offset(1, 0), by = triangles.offset(1, 1), bz = triangles.offset(1, 2);
+        int cx = triangles.offset(2, 0), cy = triangles.offset(2, 1), cz = triangles.offset(2, 2);
+        // Normalen sind verschränkt gespeichert, daher Scatter über eine Indextabelle
+        int[] lanes = new int[SPECIES.length()];
+        for (int lane = 0; lane < lanes.length; lane++) {
+            lanes[lane] = lane * 3;
+        }
+        int upper = SPECIES.loopBound(n);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            FloatVector x = FloatVector.fromArray(SPECIES, v, ax + i);
+            FloatVector y = FloatVector.fromArray(SPECIES, v, ay + i);
+            FloatVector z = FloatVector.fromArray(SPECIES, v, az + i);
+            FloatVector ux = FloatVector.fromArray(SPECIES, v, bx + i).sub(x);
+            FloatVector uy = FloatVector.fromArray(SPECIES, v, by + i).sub(y);
+            FloatVector uz = FloatVector.fromArray(SPECIES, v, bz + i).sub(z);
+            FloatVector wx = FloatVector.fromArray(SPECIES, v, cx + i).sub(x);
+            FloatVector wy = FloatVector.fromArray(SPECIES, v, cy + i).sub(y);
+            FloatVector wz = FloatVector.fromArray(SPECIES, v, cz + i).sub(z);
+            FloatVector nx = uy.mul(wz).sub(uz.mul(wy));
+            FloatVector ny = uz.mul(wx).sub(ux.mul(wz));
+            FloatVector nz = ux.mul(wy).sub(uy.mul(wx));
+            FloatVector length = nx.mul(nx).add(ny.mul(ny)).add(nz.mul(nz)).sqrt();
+            VectorMask<Float> degenerate = length.compare(VectorOperators.EQ, 0f);
+            FloatVector inverse = FloatVector.broadcast(SPECIES, 1f).div(length).blend(0f, degenerate);
+            nx.mul(inverse).intoArray(normals, i * 3, lanes, 0);
+            ny.mul(inverse).intoArray(normals, i * 3 + 1, lanes, 0);
+            nz.mul(inverse).intoArray(normals, i * 3 + 2, lanes, 0);
+        }
+        this.tail.normals(triangles, normals, i, n);
+    }
+
+    @Override
+    public void volumeTerms(TriangleColumns triangles, float[] terms) {
+        float[] v = triangles.getValues();
+        int n = triangles.getTriangleAmount();
+        int ax = triangles.offset(0, 0), ay = triangles.offset(0, 1), az = triangles.offset(0, 2);
+        int bx = triangles.offset(1, 0), by = triangles.offset(1, 1), bz = triangles.offset(1, 2);
+        int cx = triangles.offset(2, 0), cy = triangles.offset(2, 1), cz = triangles.offset(2, 2);
+        int upper = SPECIES.loopBound(n);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            FloatVector bxv = FloatVector.fromArray(SPECIES, v, bx + i);
+            FloatVector byv = FloatVector.fromArray(SPECIES, v, by + i);
+            FloatVector bzv = FloatVector.fromArray(SPECIES, v, bz + i);
+            FloatVector cxv = FloatVector.fromArray(SPECIES, v, cx + i);
+            FloatVector cyv = FloatVector.fromArray(SPECIES, v, cy + i);
+            FloatVector czv = FloatVector.fromArray(SPECIES, v, cz + i);
+            FloatVector.fromArray(SPECIES, v, ax + i).mul(byv.mul(czv).sub(bzv.mul(cyv)))
+                    .add(FloatVector.fromArray(SPECIES, v, ay + i).mul(bzv.mul(cxv).sub(bxv.mul(czv))))
+                    .add(FloatVector.fromArray(SPECIES, v, az + i).mul(bxv.mul(cyv).sub(byv.mul(cxv))))
+                    .intoArray(terms, i);
+        }
+        this.tail.volumeTerms(triangles, terms, i, n);
+    }
+
+    @Override
+    public String toString() {
+        return "SIMD (" + SPECIES.vectorBitSize() + " bit, " + SPECIES.length() + " lanes)";
+    }
+}
@@ -65,6 +65,46 @@ public class Timer {
         return elapsed / 1_000_000;
     }
 
+    /**
+     * Returns the elapsed time in nanoseconds.
+     *
+     * @return the elapsed time in ns
+     * @precondition Timer may or may not be running
+     * @postcondition No change in timer state
+     */
+    public long getElapsedNanos() {
+        if (running) {
+            return elapsed + (System.nanoTime() - startTime);
+        }
+        return elapsed;
+    }
+
+    /**
+     * Returns the throughput for the given amount of processed bytes.
+     *
+     * @param bytes number of bytes processed while the timer ran
+     * @return throughput in megabytes per second, 0 if no time elapsed
+     * @precondition bytes >= 0
+     * @postcondition No change in timer state
+     */
+    public double getMegabytesPerSecond(long bytes) {
+        long nanos = getElapsedNanos();
+        return nanos == 0 ? 0 : (bytes / 1_000_000.0) / (nanos / 1_000_000_000.0);
+    }
+
+    /**
+     * Returns the rate for the given amount of processed items, e.g. triangles.
+     *
+     * @param amount number of items processed while the timer ran
+     * @return items per second, 0 if no time elapsed
+     * @precondition amount >= 0
+     * @postcondition No change in timer state
+     */
+    public double getPerSecond(long amount) {
+        long nanos = getElapsedNanos();
+        return nanos == 0 ? 0 : amount / (nanos / 1_000_000_000.0);
+    }
+
     /**
      * Returns the elapsed time in seconds.
      *
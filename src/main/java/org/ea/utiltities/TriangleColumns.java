@@ -0,0 +1,104 @@
+package org.ea.utiltities;
+
+import org.ea.constant.GeometricConstants;
+import org.ea.constant.Numbers;
+import org.ea.model.IndexedMesh;
+
+/**
+ * Corner coordinates of triangles in struct-of-arrays layout.
+ * The array holds nine columns of {@link #getTriangleAmount()} floats each: x, y and z of the
+ * first, second and third corner. Consecutive triangles are consecutive floats of a column, so
+ * a kernel can load the same coordinate of several triangles into one SIMD register.
+ *
+ * @precondition None
+ * @postcondition Every column holds one float per triangle
+ */
+public final class TriangleColumns {
+    private static final int AXES = 3;
+
+    private final float[] values;
+    private final int triangleAmount;
+
+    private TriangleColumns(int triangleAmount) {
+        this.values = new float[triangleAmount * GeometricConstants.TRIANGLE_VERTICES_AMOUNT * AXES];
+        this.triangleAmount = triangleAmount;
+    }
+
+    /**
+     * Transposes primitive triangle data into columns; the normals are not copied.
+     *
+     * @param triangleData triangle data with 12 floats per triangle
+     * @return columns of the corner coordinates
+     * @precondition triangleData != null
+     * @postcondition the columns hold all triangles of triangleData in order
+     */
+    public static TriangleColumns of(TriangleData triangleData) {
+        TriangleColumns columns = new TriangleColumns(triangleData.getTriangleAmount());
+        float[] v = triangleData.getValues();
+        for (int t = 0; t < columns.triangleAmount; t++) {
+            int i = t * Numbers.FLOATS_PER_TRIANGLE + AXES;
+            for (int component = 0; component < GeometricConstants.TRIANGLE_VERTICES_AMOUNT * AXES; component++) {
+                columns.values[component * columns.triangleAmount + t] = v[i + component];
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Resolves the faces of an indexed mesh into columns.
+     *
+     * @param mesh the indexed mesh
+     * @return columns of the corner coordinates of all faces
+     * @precondition mesh != null
+     * @postcondition the columns hold all faces of the mesh in order
+     */
+    public static TriangleColumns of(IndexedMesh mesh) {
+        TriangleColumns columns = new TriangleColumns(mesh.getFaceAmount());
+        float[] c = mesh.getCoordinates();
+        int[] indices = mesh.getIndices();
+        for (int f = 0; f < columns.triangleAmount; f++) {
+            for (int corner = 0; corner < GeometricConstants.TRIANGLE_VERTICES_AMOUNT; corner++) {
+                int vertex = indices[f * GeometricConstants.TRIANGLE_VERTICES_AMOUNT + corner] * AXES;
+                for (int axis = 0; axis < AXES; axis++) {
+                    columns.values[columns.offset(corner, axis) + f] = c[vertex + axis];
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the array holding all columns.
+     *
+     * @return internal array of nine columns
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public float[] getValues() {
+        return this.values;
+    }
+
+    /**
+     * Returns the number of triangles.
+     *
+     * @return number of triangles, i.e. the length of every column
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getTriangleAmount() {
+        return this.triangleAmount;
+    }
+
+    /**
+     * Returns the index of the first float of a column.
+     *
+     * @param corner corner of the triangle, 0 to 2
+     * @param axis axis of the coordinate, 0 = x, 1 = y, 2 = z
+     * @return start index of the column in {@link #getValues()}
+     * @precondition 0 <= corner < 3 && 0 <= axis < 3
+     * @postcondition No state is changed
+     */
+    public int offset(int corner, int axis) {
+        return (corner * AXES + axis) * this.triangleAmount;
+    }
+}
@@ -0,0 +1,142 @@
+package org.ea.utiltities;
+
+import org.ea.constant.Numbers;
+
+import java.util.List;
+
+/**
+ * Primitive container for triangle data read from an STL file.
+ * Every triangle occupies 12 consecutive floats (3 for the normal, 9 for the vertices)
+ * plus one attribute short.
+ *
+ * @precondition values.length >= triangleAmount * 12 && attributes.length >= triangleAmount
+ * @postcondition Triangle data can be accessed without boxing
+ */
+public class TriangleData {
+    private final float[] values;
+    private final short[] attributes;
+    private final int triangleAmount;
+    private final long sequence;
+
+    /**
+     * Constructs the container around already decoded arrays.
+     *
+     * @param values flat array of 12 floats per triangle
+     * @param attributes attribute value per triangle
+     * @param triangleAmount number of valid triangles in the arrays
+     * @precondition values != null && attributes != null
+     * @postcondition arrays are referenced, not copied
+     */
+    public TriangleData(float[] values, short[] attributes, int triangleAmount) {
+        this(values, attributes, triangleAmount, 0);
+    }
+
+    /**
+     * Constructs a batch of a triangle stream around already decoded arrays.
+     *
+     * @param values flat array of 12 floats per triangle
+     * @param attributes attribute value per triangle
+     * @param triangleAmount number of valid triangles in the arrays
+     * @param sequence position of the batch in the stream, starting at 0
+     * @precondition values != null && attributes != null && sequence >= 0
+     * @postcondition arrays are referenced, not copied
+     */
+    public TriangleData(float[] values, short[] attributes, int triangleAmount, long sequence) {
+        this.values = values;
+        this.attributes = attributes;
+        this.triangleAmount = triangleAmount;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the flat float array holding all triangles.
+     *
+     * @return array of 12 floats per triangle, may be longer than needed
+     * @precondition None
+     * @postcondition reference to the internal array is returned
+     */
+    public float[] getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the attribute values of all triangles.
+     *
+     * @return array with one attribute per triangle, may be longer than needed
+     * @precondition None
+     * @postcondition reference to the internal array is returned
+     */
+    public short[] getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Returns the number of triangles held by this container.
+     *
+     * @return number of triangles
+     * @precondition None
+     * @postcondition value is non-negative
+     */
+    public int getTriangleAmount() {
+        return triangleAmount;
+    }
+
+    /**
+     * Returns the position of this batch in its triangle stream.
+     *
+     * @return sequence number, 0 for data that is not part of a stream
+     * @precondition None
+     * @postcondition value is non-negative
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the number of valid floats held by this container.
+     *
+     * @return triangleAmount * 12
+     * @precondition None
+     * @postcondition value is non-negative
+     */
+    public int getFloatAmount() {
+        return triangleAmount * Numbers.FLOATS_PER_TRIANGLE;
+    }
+
+    /**
+     * Returns a single float of a triangle.
+     *
+     * @param triangle index of the triangle
+     * @param component index inside the triangle (0-2 normal, 3-11 vertices)
+     * @return the float value
+     * @precondition 0 <= triangle < getTriangleAmount() && 0 <= component < 12
+     * @postcondition value is returned unchanged
+     */
+    public float get(int triangle, int component) {
+        return values[triangle * Numbers.FLOATS_PER_TRIANGLE + component];
+    }
+
+    /**
+     * Joins several triangle data containers into one, keeping their order.
+     *
+     * @param parts containers to join
+     * @return a container holding all triangles of the parts
+     * @precondition parts != null
+     * @postcondition triangles of parts[i] come before those of parts[i + 1]
+     */
+    public static TriangleData concat(List<TriangleData> parts) {
+        int triangleAmount = 0;
+        for (TriangleData part : parts) {
+            triangleAmount += part.getTriangleAmount();
+        }
+        float[] values = new float[triangleAmount * Numbers.FLOATS_PER_TRIANGLE];
+        short[] attributes = new short[triangleAmount];
+        int triangle = 0;
+        for (TriangleData part : parts) {
+            System.arraycopy(part.getValues(), 0, values, triangle * Numbers.FLOATS_PER_TRIANGLE, part.getFloatAmount());
+            System.arraycopy(part.getAttributes(), 0, attributes, triangle, part.getTriangleAmount());
+            triangle += part.getTriangleAmount();
+        }
+        return new TriangleData(values, attributes, triangleAmount);
+    }
+}
@@ -19,8 +19,10 @@ import java.util.concurrent.BlockingQueue;
  * @postcondition Triangles are constructed and optionally pushed to output queue
  */
 public class TriangleFactory implements Runnable {
-    private BlockingQueue<List<Float>> dataQueue;
-    private BlockingQueue<Triangle> triangleQueue;
+    private BlockingQueue<PipelineMessage<TriangleData>> dataQueue;
+    private BlockingQueue<PipelineMessage<List<Triangle>>> triangleQueue;
+    private TriangleFactoryGroup group;
+    private FacetRingBuffer ringBuffer;
     private List<Triangle> triangles = new ArrayList<>();
     private final int FLOAT_AMOUNT_VERTEX = 3;
     private final int FLOAT_AMOUNT_TRIANGLE = 12;
@@ -28,16 +30,44 @@ public class TriangleFactory implements Runnable {
     /**
      * Constructs a TriangleFactory with the given queues.
      *
-     * @param dataQueue queue containing raw triangle data
-     * @param triangleQueue queue for storing generated Triangle objects
+     * @param dataQueue queue containing batches of raw triangle data
+     * @param triangleQueue queue for batches of generated Triangle objects
      * @precondition dataQueue and triangleQueue must not be null
      * @postcondition TriangleFactory is initialized with both queues
      */
-    public TriangleFactory(BlockingQueue<List<Float>> dataQueue, BlockingQueue<Triangle> triangleQueue) {
+    public TriangleFactory(BlockingQueue<PipelineMessage<TriangleData>> dataQueue, BlockingQueue<PipelineMessage<List<Triangle>>> triangleQueue) {
         this.dataQueue = dataQueue;
         this.triangleQueue = triangleQueue;
     }
 
+    /**
+     * Constructs a TriangleFactory working as one of several workers of a group.
+     *
+     * @param dataQueue queue containing batches of raw triangle data, shared by the group
+     * @param triangleQueue queue for batches of generated Triangle objects, shared by the group
+     * @param group group coordinating output order and termination
+     * @precondition all arguments must not be null
+     * @postcondition TriangleFactory is initialized as a worker of the group
+     */
+    TriangleFactory(BlockingQueue<PipelineMessage<TriangleData>> dataQueue, BlockingQueue<PipelineMessage<List<Triangle>>> triangleQueue,
+                    TriangleFactoryGroup group) {
+        this(dataQueue, triangleQueue);
+        this.group = group;
+    }
+
+    /**
+     * Constructs a TriangleFactory consuming facets from a ring buffer instead of a queue.
+     *
+     * @param ringBuffer ring buffer the reader writes the facets into; this factory is its only consumer
+     * @param triangleQueue queue for batches of generated Triangle objects
+     * @precondition ringBuffer and triangleQueue must not be null
+     * @postcondition TriangleFactory is initialized as consumer of the ring buffer
+     */
+    public TriangleFactory(FacetRingBuffer ringBuffer, BlockingQueue<PipelineMessage<List<Triangle>>> triangleQueue) {
+        this.ringBuffer = ringBuffer;
+        this.triangleQueue = triangleQueue;
+    }
+
     /**
      * Default constructor.
      *
@@ -94,7 +124,7 @@ public class TriangleFactory implements Runnable {
         Vertex[] vertexArray = vertices.toArray(new Vertex[0]);
         try {
             Edge3D[] edges = GeometryUtils.createEdgesFromVertices(vertexArray);
-            return new Triangle(edges, normal, this.calculateArea(edges), this.calculatePerimeter(edges));
+            return new Triangle(edges, normal);
         } catch (GeometryException e) {
             Logger.error(e.getMessage());
             System.exit(Arguments.EXIT_ERROR);
@@ -102,8 +132,75 @@ public class TriangleFactory implements Runnable {
         return null;
     }
 
+    /**
+     * Builds a list of Triangle objects from primitive triangle data.
+     *
+     * @param triangleData triangle data with 12 floats per triangle
+     * @return list of constructed Triangle objects
+     *
+     * @precondition triangleData != null
+     * @postcondition returns a list of Triangle objects, size = triangleData.getTriangleAmount()
+     */
+    public ArrayList<Triangle> buildTriangles(TriangleData triangleData) {
+        Logger.info(Messages.BUILDING_TRIANGLES_STARTED);
+        Timer timer = new Timer();
+        timer.start();
+        ArrayList<Triangle> triangles = new ArrayList<>(triangleData.getTriangleAmount());
+        for (int i = 0; i < triangleData.getFloatAmount(); i += FLOAT_AMOUNT_TRIANGLE) {
+            triangles.add(this.buildTriangle(triangleData.getValues(), i));
+        }
+        timer.stop();
+        Logger.info(String.format(Messages.BUILT_TRIANGLES, triangles.size()));
+        Logger.info(String.format(Messages.BUILD_TIME_MESSAGE, (double) timer.getElapsedMillis()));
+        return triangles;
+    }
+
+    /**
+     * Builds a single Triangle object from 12 floats of a flat array.
+     *
+     * @param values flat array of triangle floats
+     * @param offset index of the first float (normal x) of the triangle
+     * @return a Triangle object or null if construction failed
+     *
+     * @precondition values != null && values.length >= offset + 12
+     * @postcondition returns a Triangle object or null if an exception occurred
+     */
+    public Triangle buildTriangle(float[] values, int offset) {
+        try {
+            return this.createTriangle(values, offset);
+        } catch (GeometryException e) {
+            Logger.error(e.getMessage());
+            System.exit(Arguments.EXIT_ERROR);
+        }
+        return null;
+    }
+
+    /**
+     * Builds a single Triangle object from 12 floats of a flat array and reports invalid
+     * geometry to the caller. Area and perimeter are computed by the triangle when first read.
+     *
+     * @param values flat array of triangle floats
+     * @param offset index of the first float (normal x) of the triangle
+     * @return a Triangle object
+     * @throws GeometryException if the vertices do not form a valid triangle
+     *
+     * @precondition values != null && values.length >= offset + 12
+     * @postcondition returns a Triangle object
+     */
+    private Triangle createTriangle(float[] values, int offset) throws GeometryException {
+        Vector normal = new DefaultVector(values[offset], values[offset + Numbers.NEXT], values[offset + Numbers.NEXT_TWO]);
+        Vertex[] vertexArray = new Vertex[GeometricConstants.TRIANGLE_VERTICES_AMOUNT];
+        for (int v = 0; v < vertexArray.length; v++) {
+            int i = offset + FLOAT_AMOUNT_VERTEX * (v + 1);
+            vertexArray[v] = new DefaultVertex(values[i], values[i + Numbers.NEXT], values[i + Numbers.NEXT_TWO]);
+        }
+        Edge3D[] edges = GeometryUtils.createEdgesFromVertices(vertexArray);
+        return new Triangle(edges, normal);
+    }
+
     /**
      * Returns the list of constructed Triangle objects.
+     * The threaded {@link #run()} does not fill this list, it only passes triangles on.
      *
      * @return list of Triangle objects
      * @precondition Triangles must have been built before
@@ -115,6 +212,8 @@ public class TriangleFactory implements Runnable {
 
     /**
      * Calculates the area of a triangle from its edges using the cross product.
+     * Built triangles compute their area themselves on first access; this method is kept
+     * for callers that need the value without a triangle.
      *
      * @param edges array of exactly 3 edges
      * @return area of the triangle
@@ -123,11 +222,7 @@ public class TriangleFactory implements Runnable {
      * @postcondition returns a non-negative double representing the area
      */
     public double calculateArea(Edge3D[] edges) {
-        Vector dir1 = edges[GeometricConstants.FIRST_EDGE].getDirection();
-        Vector dir2 = edges[GeometricConstants.SECOND_EDGE].getDirection();
-        Vector crossProduct = dir1.crossProduct(dir2);
-        double parallelogramArea = crossProduct.length();
-        return parallelogramArea / GeometricConstants.HALF_OF_PARALLELOGRAM;
+        return GeometryUtils.calculateTriangleArea(edges);
     }
 
     /**
@@ -140,51 +235,130 @@ public class TriangleFactory implements Runnable {
      * @postcondition returns a positive double representing the perimeter
      */
     public double calculatePerimeter(Edge3D[] edges) {
-        return edges[GeometricConstants.FIRST_EDGE].getLength()
-                + edges[GeometricConstants.SECOND_EDGE].getLength()
-                + edges[GeometricConstants.THIRD_EDGE].getLength();
+        return GeometryUtils.calculatePerimeter(edges);
     }
 
     /**
-     * Thread run method that consumes triangle data and produces Triangle objects.
-     * Adds a poison pill at the end of the queue to signal completion.
+     * Thread run method that consumes batches of triangle data and produces batches of Triangle objects.
+     * Triangles are only passed on, not kept, so the memory use does not grow with the file size.
+     * The stream is ended with an end message, or with a failure message if reading failed or a
+     * triangle could not be built; after a failure the remaining input is drained so the producer
+     * never blocks. As a worker of a {@link TriangleFactoryGroup} the group decides where the
+     * terminal message goes.
      *
      * @precondition dataQueue and triangleQueue must be initialized
-     * @postcondition triangleQueue contains all built triangles and a poison pill
+     * @postcondition triangleQueue contains all built triangles and a terminal message
      */
     @Override
     public void run() {
+        if (this.ringBuffer != null) {
+            this.runFromRingBuffer();
+            return;
+        }
         if (this.dataQueue == null) {
             return;
         }
 
-        while (!Thread.currentThread().isInterrupted()) {
-            try {
-                List<Float> triangleData = this.dataQueue.take();
-                if (triangleData.get(0) == null) {
-                    break;
-                }
-                Triangle triangle = this.buildTriangle(triangleData);
-                if (triangle != null) {
-                    this.getTriangles().add(triangle);
-                    this.triangleQueue.add(triangle);
+        Timer timer = new Timer();
+        timer.start();
+        long triangleAmount = 0;
+        try {
+            PipelineMessage<TriangleData> message = this.dataQueue.take();
+            Throwable failure = null;
+            while (message instanceof PipelineMessage.Item<TriangleData> item) {
+                TriangleData batch = item.payload();
+                if (failure == null) {
+                    try {
+                        List<Triangle> triangles = new ArrayList<>(batch.getTriangleAmount());
+                        for (int i = 0; i < batch.getFloatAmount(); i += FLOAT_AMOUNT_TRIANGLE) {
+                            triangles.add(this.createTriangle(batch.getValues(), i));
+                        }
+                        triangleAmount += triangles.size();
+                        this.emit(batch.getSequence(), triangles);
+                    } catch (GeometryException e) {
+                        failure = e; // Rest nur noch abholen, damit der Reader nicht blockiert
+                        if (this.group != null) {
+                            this.group.fail(e);
+                        }
+                    }
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+                message = this.dataQueue.take();
+            }
+            if (failure != null) {
+                message = PipelineMessage.failure(failure);
             }
+            if (this.group != null) {
+                this.group.finish(message, this.dataQueue);
+            } else {
+                this.triangleQueue.put(message instanceof PipelineMessage.Failure<TriangleData> f
+                        ? PipelineMessage.failure(f.cause())
+                        : PipelineMessage.end());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        timer.stop();
+        Logger.info(String.format(Messages.STAGE_THROUGHPUT_MESSAGE, "TriangleFactory", triangleAmount,
+                timer.getPerSecond(triangleAmount)));
+    }
 
+    /**
+     * Consumes facets from the ring buffer and produces batches of Triangle objects.
+     * All facets published so far, at most one pipeline batch, are built at once and their
+     * slots released before the batch is passed on.
+     *
+     * @precondition ringBuffer and triangleQueue must be initialized
+     * @postcondition triangleQueue contains all built triangles and a terminal message
+     */
+    private void runFromRingBuffer() {
+        Timer timer = new Timer();
+        timer.start();
+        long sequence = 0;
         try {
-            this.triangleQueue.add(new Triangle(
-                    GeometryUtils.createEdgesFromVertices(PoisonPills.VERTICES_POISON_PILL),
-                    new DefaultVector(2, 2, 2),
-                    null,
-                    null
-            ));
-        } catch (GeometryException e) {
-            Logger.error(e.getMessage());
-            System.exit(Arguments.EXIT_ERROR);
+            Throwable failure = null;
+            long available;
+            while ((available = this.ringBuffer.await(sequence)) > sequence) {
+                long end = Math.min(available, sequence + Numbers.PIPELINE_BATCH_SIZE);
+                List<Triangle> triangles = new ArrayList<>((int) (end - sequence));
+                for (long s = sequence; failure == null && s < end; s++) {
+                    try {
+                        triangles.add(this.createTriangle(this.ringBuffer.getValues(), this.ringBuffer.offset(s)));
+                    } catch (GeometryException e) {
+                        failure = e; // Rest nur noch freigeben, damit der Reader nicht blockiert
+                    }
+                }
+                this.ringBuffer.release(end);
+                sequence = end;
+                if (failure == null) {
+                    this.triangleQueue.put(PipelineMessage.item(triangles));
+                }
+            }
+            if (failure == null) {
+                failure = this.ringBuffer.getFailure();
+            }
+            this.triangleQueue.put(failure != null ? PipelineMessage.failure(failure) : PipelineMessage.end());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        timer.stop();
+        Logger.info(String.format(Messages.STAGE_THROUGHPUT_MESSAGE, "TriangleFactory", sequence,
+                timer.getPerSecond(sequence)));
+    }
+
+    /**
+     * Passes a triangle batch on, through the group if this factory is a worker of one.
+     *
+     * @param sequence sequence number of the source batch
+     * @param triangles triangles built from the source batch
+     * @throws InterruptedException if interrupted while waiting for space in the queue
+     * @precondition triangleQueue must be initialized
+     * @postcondition the batch is queued or handed to the group
+     */
+    private void emit(long sequence, List<Triangle> triangles) throws InterruptedException {
+        if (this.group != null) {
+            this.group.emit(sequence, triangles);
+        } else {
+            this.triangleQueue.put(PipelineMessage.item(triangles));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,204 @@
+package org.ea.utiltities;
+
+import org.ea.constant.Numbers;
+import org.ea.model.Triangle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Group of {@link TriangleFactory} workers draining the same triangle data queue.
+ * A worker taking the terminal message puts it back for the other workers and counts itself
+ * as finished; the last finished worker passes the end downstream, so the consumer of the
+ * triangle queue sees the end exactly once and after all triangles. If the reader or any
+ * worker failed, the first failure is passed downstream instead of the end.
+ *
+ * <p>In ordered mode the triangle batches are passed on in the order of their sequence
+ * numbers: batches finished early wait in a reorder buffer until their predecessors arrive.
+ * A worker may only run a bounded window of batches ahead of the next batch to pass on;
+ * beyond it the worker waits, so a stalled batch cannot make the buffer grow without limit.
+ * One worker at a time moves the buffered batches into the triangle queue, outside the lock,
+ * so the other workers can keep buffering while it waits for space in the queue.
+ * In unordered mode every batch is passed on as soon as it is built.</p>
+ *
+ * @precondition workerAmount > 0
+ * @postcondition The triangle queue receives all triangle batches followed by one terminal message
+ */
+public final class TriangleFactoryGroup {
+    private final BlockingQueue<PipelineMessage<List<Triangle>>> triangleQueue;
+    private final boolean ordered;
+    private final List<TriangleFactory> workers = new ArrayList<>();
+    private final AtomicInteger runningWorkers;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final Map<Long, List<Triangle>> reorderBuffer = new HashMap<>();
+    private final int reorderWindow;
+    private long nextSequence;
+    private boolean draining;
+
+    /**
+     * Constructs the group and its workers with a reorder window of the default queue capacity.
+     *
+     * @param dataQueue queue containing batches of raw triangle data
+     * @param triangleQueue queue for batches of generated Triangle objects
+     * @param workerAmount number of workers
+     * @param ordered true to pass the triangle batches on in file order
+     * @precondition dataQueue != null && triangleQueue != null && workerAmount > 0
+     * @postcondition {@link #getWorkers()} returns workerAmount workers ready to run
+     */
+    public TriangleFactoryGroup(BlockingQueue<PipelineMessage<TriangleData>> dataQueue, BlockingQueue<PipelineMessage<List<Triangle>>> triangleQueue,
+                                int workerAmount, boolean ordered) {
+        this(dataQueue, triangleQueue, workerAmount, ordered, Numbers.PIPELINE_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs the group and its workers.
+     *
+     * @param dataQueue queue containing batches of raw triangle data
+     * @param triangleQueue queue for batches of generated Triangle objects
+     * @param workerAmount number of workers
+     * @param ordered true to pass the triangle batches on in file order
+     * @param reorderWindow number of batches a worker may be ahead of the next batch to pass on
+     * @precondition dataQueue != null && triangleQueue != null && workerAmount > 0 && reorderWindow > 0
+     * @postcondition {@link #getWorkers()} returns workerAmount workers ready to run
+     */
+    public TriangleFactoryGroup(BlockingQueue<PipelineMessage<TriangleData>> dataQueue, BlockingQueue<PipelineMessage<List<Triangle>>> triangleQueue,
+                                int workerAmount, boolean ordered, int reorderWindow) {
+        if (workerAmount <= 0) {
+            throw new IllegalArgumentException(String.valueOf(workerAmount));
+        }
+        if (reorderWindow <= 0) {
+            throw new IllegalArgumentException(String.valueOf(reorderWindow));
+        }
+        this.triangleQueue = triangleQueue;
+        this.ordered = ordered;
+        this.reorderWindow = reorderWindow;
+        this.runningWorkers = new AtomicInteger(workerAmount);
+        for (int i = 0; i < workerAmount; i++) {
+            this.workers.add(new TriangleFactory(dataQueue, triangleQueue, this));
+        }
+    }
+
+    /**
+     * Returns the workers of the group.
+     *
+     * @return list of workers, each to be run on its own thread
+     * @precondition None
+     * @postcondition The list is unmodifiable
+     */
+    public List<TriangleFactory> getWorkers() {
+        return List.copyOf(this.workers);
+    }
+
+    /**
+     * Passes a triangle batch on, in ordered mode only after all batches before it.
+     * In ordered mode the call waits while the batch is a full window ahead of the next batch
+     * to pass on. After a failure of a worker the batch is dropped, the failure goes downstream.
+     *
+     * @param sequence sequence number of the source batch
+     * @param triangles triangles built from the source batch
+     * @throws InterruptedException if interrupted while waiting for the window or for space in the queue
+     * @precondition every sequence number is passed once
+     * @postcondition the batch is queued or buffered until its predecessors are queued
+     */
+    void emit(long sequence, List<Triangle> triangles) throws InterruptedException {
+        if (!this.ordered) {
+            this.triangleQueue.put(PipelineMessage.item(triangles));
+            return;
+        }
+        synchronized (this.reorderBuffer) {
+            while (sequence - this.nextSequence >= this.reorderWindow && this.failure.get() == null) {
+                this.reorderBuffer.wait();
+            }
+            if (this.failure.get() != null) {
+                return;
+            }
+            this.reorderBuffer.put(sequence, triangles);
+            if (this.draining) {
+                // ein anderer Worker gibt den Puffer bereits weiter
+                return;
+            }
+            this.draining = true;
+        }
+        this.drain();
+    }
+
+    /**
+     * Puts the buffered batches into the triangle queue as long as the next one is present.
+     * Only the draining worker calls this, so the batches stay in order although the blocking
+     * put happens outside the lock.
+     *
+     * @throws InterruptedException if interrupted while waiting for space in the queue
+     * @precondition draining was set by the calling worker
+     * @postcondition draining is reset and the batch of nextSequence is not buffered
+     */
+    private void drain() throws InterruptedException {
+        while (true) {
+            List<Triangle> next;
+            synchronized (this.reorderBuffer) {
+                next = this.reorderBuffer.remove(this.nextSequence);
+                if (next == null) {
+                    this.draining = false;
+                    return;
+                }
+            }
+            try {
+                this.triangleQueue.put(PipelineMessage.item(next));
+            } catch (InterruptedException e) {
+                synchronized (this.reorderBuffer) {
+                    this.draining = false;
+                }
+                throw e;
+            }
+            synchronized (this.reorderBuffer) {
+                this.nextSequence++;
+                this.reorderBuffer.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Records the failure of a worker as soon as it happens. Its batch will never be passed on,
+     * so workers waiting for the window are released and drop their batches.
+     *
+     * @param cause the failure of the worker
+     * @precondition cause != null
+     * @postcondition no worker waits for the window any more
+     */
+    void fail(Throwable cause) {
+        this.failure.compareAndSet(null, cause);
+        synchronized (this.reorderBuffer) {
+            this.reorderBuffer.clear();
+            this.reorderBuffer.notifyAll();
+        }
+    }
+
+    /**
+     * Counts a worker as finished after it took the terminal message.
+     *
+     * @param terminal the end or failure message; a failure of the worker itself replaces the end
+     * @param dataQueue queue the terminal message was taken from
+     * @throws InterruptedException if interrupted while waiting for space in a queue
+     * @precondition called once per worker, terminal.isTerminal()
+     * @postcondition the terminal message is back in the data queue for the remaining workers,
+     *                or, for the last worker, the end or the first failure is in the triangle queue
+     */
+    void finish(PipelineMessage<TriangleData> terminal, BlockingQueue<PipelineMessage<TriangleData>> dataQueue)
+            throws InterruptedException {
+        if (terminal instanceof PipelineMessage.Failure<TriangleData> f) {
+            this.failure.compareAndSet(null, f.cause());
+        }
+        if (this.runningWorkers.decrementAndGet() > 0) {
+            // andere Worker warten noch auf das Ende der Eingabe
+            dataQueue.put(PipelineMessage.end());
+        } else if (this.failure.get() != null) {
+            this.triangleQueue.put(PipelineMessage.failure(this.failure.get()));
+        } else {
+            this.triangleQueue.put(PipelineMessage.end());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.ea.utiltities;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint sets over the elements 0 to size - 1, e.g. the vertices of a mesh.
+ * Sets are kept as trees in one parent array, joined by size and flattened by path halving,
+ * so any sequence of operations runs in almost linear time.
+ *
+ * @precondition Elements lie in [0, size)
+ * @postcondition {@link #getComponentAmount()} is the number of disjoint sets
+ */
+public final class UnionFind {
+    private final int[] parents;
+    private final int[] sizes;
+    private int componentAmount;
+
+    /**
+     * Constructs the sets with every element in a set of its own.
+     *
+     * @param size number of elements
+     * @precondition size >= 0
+     * @postcondition getComponentAmount() == size
+     */
+    public UnionFind(int size) {
+        this.parents = new int[size];
+        this.sizes = new int[size];
+        for (int element = 0; element < size; element++) {
+            this.parents[element] = element;
+            this.sizes[element] = 1;
+        }
+        this.componentAmount = size;
+    }
+
+    /**
+     * Returns the representative of the set of an element.
+     *
+     * @param element the element
+     * @return representative, equal for all elements of one set
+     * @precondition 0 <= element < size
+     * @postcondition the path of the element is shortened
+     */
+    public int find(int element) {
+        while (this.parents[element] != element) {
+            // Pfadhalbierung: auf den Großelternknoten zeigen
+            this.parents[element] = this.parents[this.parents[element]];
+            element = this.parents[element];
+        }
+        return element;
+    }
+
+    /**
+     * Joins the sets of two elements.
+     *
+     * @param a one element
+     * @param b other element
+     * @return true if the sets were different and have been joined
+     * @precondition 0 <= a, b < size
+     * @postcondition find(a) == find(b)
+     */
+    public boolean union(int a, int b) {
+        int rootA = this.find(a);
+        int rootB = this.find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (this.sizes[rootA] < this.sizes[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        this.parents[rootB] = rootA;
+        this.sizes[rootA] += this.sizes[rootB];
+        this.componentAmount--;
+        return true;
+    }
+
+    /**
+     * @return number of disjoint sets
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getComponentAmount() {
+        return this.componentAmount;
+    }
+
+    /**
+     * Numbers the sets consecutively in order of their smallest element.
+     *
+     * @return component number in [0, getComponentAmount()) per element
+     * @precondition None
+     * @postcondition elements of one set get the same number
+     */
+    public int[] toComponentIds() {
+        int[] ids = new int[this.parents.length];
+        int[] rootIds = new int[this.parents.length];
+        Arrays.fill(rootIds, -1);
+        int next = 0;
+        for (int element = 0; element < ids.length; element++) {
+            int root = this.find(element);
+            if (rootIds[root] < 0) {
+                rootIds[root] = next++;
+            }
+            ids[element] = rootIds[root];
+        }
+        return ids;
+    }
+}
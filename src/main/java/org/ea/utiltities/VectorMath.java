@@ -0,0 +1,141 @@
+package org.ea.utiltities;
+
+import org.ea.constant.GeometricConstants;
+
+/**
+ * Allocation-free vector kernels on primitive coordinates.
+ * The methods work on raw components or on a flat coordinate array with 3 floats per point,
+ * so hot loops over triangles create no {@link org.ea.model.Vector} objects and no boxed
+ * floats. All calculations are done in double.
+ *
+ * @precondition Coordinates are finite
+ * @postcondition Results are consistent with standard 3D vector algebra
+ */
+public final class VectorMath {
+
+    private VectorMath() {
+    }
+
+    /**
+     * Computes the dot product of a and b.
+     *
+     * @return a · b
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    public static double dot(double ax, double ay, double az, double bx, double by, double bz) {
+        return ax * bx + ay * by + az * bz;
+    }
+
+    /**
+     * Computes the length of a vector.
+     *
+     * @return |v|
+     * @precondition None
+     * @postcondition Returns a non-negative value
+     */
+    public static double length(double x, double y, double z) {
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * Computes the distance between the points a and b.
+     *
+     * @return |b - a|
+     * @precondition None
+     * @postcondition Returns a non-negative value
+     */
+    public static double distance(double ax, double ay, double az, double bx, double by, double bz) {
+        return length(bx - ax, by - ay, bz - az);
+    }
+
+    /**
+     * Computes the cross product of a and b into an array.
+     *
+     * @param result array receiving the 3 components
+     * @param offset index of the x component in result
+     * @precondition result.length >= offset + 3
+     * @postcondition result[offset..offset + 2] holds a × b
+     */
+    public static void cross(double ax, double ay, double az, double bx, double by, double bz,
+                             float[] result, int offset) {
+        result[offset] = (float) (ay * bz - az * by);
+        result[offset + 1] = (float) (az * bx - ax * bz);
+        result[offset + 2] = (float) (ax * by - ay * bx);
+    }
+
+    /**
+     * Computes the length of the cross product of a and b, i.e. the area of the
+     * parallelogram spanned by both vectors.
+     *
+     * @return |a × b|
+     * @precondition None
+     * @postcondition Returns a non-negative value
+     */
+    public static double crossLength(double ax, double ay, double az, double bx, double by, double bz) {
+        return length(ay * bz - az * by, az * bx - ax * bz, ax * by - ay * bx);
+    }
+
+    /**
+     * Computes the scalar triple product a · (b × c), six times the signed volume of the
+     * tetrahedron spanned by the origin and the points a, b and c.
+     *
+     * @return a · (b × c)
+     * @precondition None
+     * @postcondition No state is changed
+     */
+    public static double tripleProduct(double ax, double ay, double az,
+                                       double bx, double by, double bz,
+                                       double cx, double cy, double cz) {
+        return ax * (by * cz - bz * cy) + ay * (bz * cx - bx * cz) + az * (bx * cy - by * cx);
+    }
+
+    /**
+     * Computes the scalar triple product of three points of a coordinate array.
+     *
+     * @param c flat coordinate array, 3 floats per point
+     * @param a index of the x coordinate of the first point
+     * @param b index of the x coordinate of the second point
+     * @param d index of the x coordinate of the third point
+     * @return a · (b × d)
+     * @precondition all indices + 2 lie within c
+     * @postcondition No state is changed
+     */
+    public static double tripleProduct(float[] c, int a, int b, int d) {
+        return tripleProduct(c[a], c[a + 1], c[a + 2], c[b], c[b + 1], c[b + 2], c[d], c[d + 1], c[d + 2]);
+    }
+
+    /**
+     * Computes the area of the triangle of three points of a coordinate array.
+     *
+     * @param c flat coordinate array, 3 floats per point
+     * @param a index of the x coordinate of the first corner
+     * @param b index of the x coordinate of the second corner
+     * @param d index of the x coordinate of the third corner
+     * @return area of the triangle
+     * @precondition all indices + 2 lie within c
+     * @postcondition Returns a non-negative value
+     */
+    public static double triangleArea(float[] c, int a, int b, int d) {
+        double ax = c[a], ay = c[a + 1], az = c[a + 2];
+        return crossLength(c[b] - ax, c[b + 1] - ay, c[b + 2] - az, c[d] - ax, c[d + 1] - ay, c[d + 2] - az)
+                / GeometricConstants.HALF_OF_PARALLELOGRAM;
+    }
+
+    /**
+     * Computes the perimeter of the triangle of three points of a coordinate array.
+     *
+     * @param c flat coordinate array, 3 floats per point
+     * @param a index of the x coordinate of the first corner
+     * @param b index of the x coordinate of the second corner
+     * @param d index of the x coordinate of the third corner
+     * @return perimeter of the triangle
+     * @precondition all indices + 2 lie within c
+     * @postcondition Returns a non-negative value
+     */
+    public static double trianglePerimeter(float[] c, int a, int b, int d) {
+        return distance(c[a], c[a + 1], c[a + 2], c[b], c[b + 1], c[b + 2])
+                + distance(c[b], c[b + 1], c[b + 2], c[d], c[d + 1], c[d + 2])
+                + distance(c[d], c[d + 1], c[d + 2], c[a], c[a + 1], c[a + 2]);
+    }
+}
@@ -0,0 +1,221 @@
+package org.ea.utiltities;
+
+import java.util.Arrays;
+
+/**
+ * Assigns indices to vertices and merges equal vertices without creating vertex objects.
+ * Vertices are kept in one coordinate array and looked up in an open-addressing hash table
+ * of vertex indices with linear probing, keyed on the raw float bits of the coordinates.
+ *
+ * <p>With a tolerance greater than zero the welder works on a grid with cells of the
+ * tolerance size: a vertex is merged into an existing vertex if that one lies in the same or
+ * a neighbouring cell and differs by at most the tolerance on every axis. This closes the
+ * small gaps noisy exporters leave between faces that should share a vertex.</p>
+ *
+ * @precondition Coordinates passed to {@link #add(float, float, float)} are finite
+ * @postcondition Every distinct vertex (or cluster within the tolerance) has exactly one index
+ */
+public final class VertexWelder {
+    private static final int COORDINATES_PER_VERTEX = 3;
+    private static final int EMPTY = -1;
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private final float tolerance;
+    private final double inverseTolerance;
+    private float[] coordinates;
+    private int[] table;
+    private int mask;
+    private int vertexAmount;
+
+    /**
+     * Constructs a welder that merges only vertices with identical coordinates.
+     *
+     * @param expectedVertices number of vertices expected to be added
+     * @precondition expectedVertices >= 0
+     * @postcondition The welder is empty and sized for expectedVertices without rehashing
+     */
+    public VertexWelder(int expectedVertices) {
+        this(expectedVertices, 0f);
+    }
+
+    /**
+     * Constructs a welder with a weld tolerance.
+     *
+     * @param expectedVertices number of vertices expected to be added
+     * @param tolerance maximum difference per axis of merged vertices; 0 for exact merging
+     * @precondition expectedVertices >= 0 && tolerance >= 0
+     * @postcondition The welder is empty and sized for expectedVertices without rehashing
+     */
+    public VertexWelder(int expectedVertices, float tolerance) {
+        this.tolerance = Math.max(tolerance, 0f);
+        this.inverseTolerance = this.tolerance > 0 ? 1.0 / this.tolerance : 0;
+        int capacity = Integer.highestOneBit(Math.max(expectedVertices, MINIMUM_CAPACITY) * 2 - 1) << 1;
+        this.table = new int[capacity];
+        Arrays.fill(this.table, EMPTY);
+        this.mask = capacity - 1;
+        this.coordinates = new float[Math.max(expectedVertices, MINIMUM_CAPACITY) * COORDINATES_PER_VERTEX];
+    }
+
+    /**
+     * Adds a vertex and returns its index; an equal vertex already added keeps its index.
+     *
+     * @param x x coordinate
+     * @param y y coordinate
+     * @param z z coordinate
+     * @return index of the vertex or of the vertex it was merged into
+     * @precondition Coordinates are finite
+     * @postcondition getVertexAmount() grows by one if no vertex was merged
+     */
+    public int add(float x, float y, float z) {
+        // -0.0 und 0.0 sind gleich, haben aber unterschiedliche Bits
+        x += 0.0f;
+        y += 0.0f;
+        z += 0.0f;
+        return this.tolerance > 0 ? this.addNear(x, y, z) : this.addExact(x, y, z);
+    }
+
+    /**
+     * Returns the number of distinct vertices.
+     *
+     * @return number of vertices
+     * @precondition None
+     * @postcondition Value is non-negative
+     */
+    public int getVertexAmount() {
+        return this.vertexAmount;
+    }
+
+    /**
+     * Returns the coordinates of all vertices, 3 floats per vertex in index order.
+     *
+     * @return internal coordinate array; may be longer than 3 * getVertexAmount()
+     * @precondition None
+     * @postcondition Reference to the internal array is returned
+     */
+    public float[] getCoordinates() {
+        return this.coordinates;
+    }
+
+    /**
+     * Returns the coordinates trimmed to the number of vertices.
+     *
+     * @return new array with 3 * getVertexAmount() floats
+     * @precondition None
+     * @postcondition The welder is unchanged
+     */
+    public float[] toCoordinateArray() {
+        return Arrays.copyOf(this.coordinates, this.vertexAmount * COORDINATES_PER_VERTEX);
+    }
+
+    private int addExact(float x, float y, float z) {
+        int xb = Float.floatToIntBits(x);
+        int yb = Float.floatToIntBits(y);
+        int zb = Float.floatToIntBits(z);
+        int slot = hash(xb, yb, zb) & this.mask;
+        int vertex;
+        while ((vertex = this.table[slot]) != EMPTY) {
+            int c = vertex * COORDINATES_PER_VERTEX;
+            if (Float.floatToIntBits(this.coordinates[c]) == xb
+                    && Float.floatToIntBits(this.coordinates[c + 1]) == yb
+                    && Float.floatToIntBits(this.coordinates[c + 2]) == zb) {
+                return vertex;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return this.insert(slot, x, y, z);
+    }
+
+    private int addNear(float x, float y, float z) {
+        long cx = this.cell(x);
+        long cy = this.cell(y);
+        long cz = this.cell(z);
+        for (long dx = -1; dx <= 1; dx++) {
+            for (long dy = -1; dy <= 1; dy++) {
+                for (long dz = -1; dz <= 1; dz++) {
+                    int vertex = this.findCell(cx + dx, cy + dy, cz + dz);
+                    if (vertex != EMPTY && this.isNear(vertex, x, y, z)) {
+                        return vertex;
+                    }
+                }
+            }
+        }
+        // Eine Zelle ist nicht breiter als die Toleranz, daher ist die eigene Zelle hier frei
+        int slot = hash(cx, cy, cz) & this.mask;
+        while (this.table[slot] != EMPTY) {
+            slot = (slot + 1) & this.mask;
+        }
+        return this.insert(slot, x, y, z);
+    }
+
+    private int findCell(long cx, long cy, long cz) {
+        int slot = hash(cx, cy, cz) & this.mask;
+        int vertex;
+        while ((vertex = this.table[slot]) != EMPTY) {
+            int c = vertex * COORDINATES_PER_VERTEX;
+            if (this.cell(this.coordinates[c]) == cx
+                    && this.cell(this.coordinates[c + 1]) == cy
+                    && this.cell(this.coordinates[c + 2]) == cz) {
+                return vertex;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return EMPTY;
+    }
+
+    private boolean isNear(int vertex, float x, float y, float z) {
+        int c = vertex * COORDINATES_PER_VERTEX;
+        return Math.abs(this.coordinates[c] - x) <= this.tolerance
+                && Math.abs(this.coordinates[c + 1] - y) <= this.tolerance
+                && Math.abs(this.coordinates[c + 2] - z) <= this.tolerance;
+    }
+
+    private long cell(float value) {
+        return (long) Math.floor(value * this.inverseTolerance);
+    }
+
+    private int insert(int slot, float x, float y, float z) {
+        int vertex = this.vertexAmount++;
+        int c = vertex * COORDINATES_PER_VERTEX;
+        if (c + COORDINATES_PER_VERTEX > this.coordinates.length) {
+            this.coordinates = Arrays.copyOf(this.coordinates, this.coordinates.length * 2);
+        }
+        this.coordinates[c] = x;
+        this.coordinates[c + 1] = y;
+        this.coordinates[c + 2] = z;
+        this.table[slot] = vertex;
+        if (this.vertexAmount * 2 > this.table.length) {
+            this.rehash();
+        }
+        return vertex;
+    }
+
+    private void rehash() {
+        int[] newTable = new int[this.table.length * 2];
+        Arrays.fill(newTable, EMPTY);
+        int newMask = newTable.length - 1;
+        for (int vertex = 0; vertex < this.vertexAmount; vertex++) {
+            int c = vertex * COORDINATES_PER_VERTEX;
+            int h = this.tolerance > 0
+                    ? hash(this.cell(this.coordinates[c]), this.cell(this.coordinates[c + 1]), this.cell(this.coordinates[c + 2]))
+                    : hash(Float.floatToIntBits(this.coordinates[c]),
+                           Float.floatToIntBits(this.coordinates[c + 1]),
+                           Float.floatToIntBits(this.coordinates[c + 2]));
+            int slot = h & newMask;
+            while (newTable[slot] != EMPTY) {
+                slot = (slot + 1) & newMask;
+            }
+            newTable[slot] = vertex;
+        }
+        this.table = newTable;
+        this.mask = newMask;
+    }
+
+    private static int hash(long a, long b, long c) {
+        long h = a * 0x9E3779B97F4A7C15L;
+        h = (h ^ b) * 0xC2B2AE3D27D4EB4FL;
+        h = (h ^ c) * 0x165667B19E3779F9L;
+        h ^= h >>> 32;
+        h *= 0xFF51AFD7ED558CCDL;
+        return (int) (h ^ (h >>> 29));
+    }
+}
@@ -0,0 +1,44 @@
+package org.ea.utiltities;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a thread waits for the other side of a {@link FacetRingBuffer}.
+ *
+ * @precondition None
+ * @postcondition Each constant defines one way of idling between two checks
+ */
+public enum WaitStrategy {
+    /**
+     * Spins on the CPU; lowest latency, but keeps one core busy while waiting. Only useful if
+     * producer and consumer have a core each, otherwise the spinning side delays the other.
+     */
+    BUSY_SPIN,
+    /**
+     * Spins briefly, then parks the thread for a short time; frees the core when the other
+     * side is slow.
+     */
+    PARK;
+
+    private static final int SPIN_ATTEMPTS = 100;
+    private static final long PARK_NANOS = 1_000;
+
+    /**
+     * Waits once before the next check.
+     *
+     * @param attempt number of checks done so far in the current wait, starting at 0
+     * @throws InterruptedException if the thread has been interrupted
+     * @precondition attempt >= 0
+     * @postcondition The caller may check its condition again
+     */
+    void idle(int attempt) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (this == BUSY_SPIN || attempt < SPIN_ATTEMPTS) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
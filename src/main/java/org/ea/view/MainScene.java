@@ -8,6 +8,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.FileChooser;
+import org.ea.model.IndexedMesh;
 import org.ea.model.Polyhedron;
 import org.ea.utiltities.GeometryUtils;
 import org.ea.utiltities.MeshFactory;
@@ -126,8 +127,8 @@ public final class MainScene extends Scene {
 
         if (stlFile != null) {
             System.out.println("Gewählte Datei: " + stlFile.getAbsolutePath());
-            Polyhedron model = GeometryUtils.createPolyhedronFromFile(stlFile.getAbsolutePath());
-            this.getModelSubScene().setMesh(new MeshFactory().buildMeshView(model.getSurfaces()));
+            IndexedMesh mesh = GeometryUtils.createMeshFromFile(stlFile.getAbsolutePath());
+            this.getModelSubScene().setMesh(new MeshFactory().buildMeshView(mesh));
         } else {
             System.out.println("Auswahl abgebrochen.");
         }